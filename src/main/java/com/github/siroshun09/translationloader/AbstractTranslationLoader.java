@@ -1,11 +1,12 @@
 package com.github.siroshun09.translationloader;
 
+import com.github.siroshun09.translationloader.util.CompactMessageMap;
+import com.github.siroshun09.translationloader.util.LocalizedFormats;
 import net.kyori.adventure.translation.TranslationRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.text.MessageFormat;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -13,14 +14,24 @@ import java.util.Objects;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
+/**
+ * The base class of {@link TranslationLoader}s.
+ * <p>
+ * Messages are loaded into the working map returned by {@link #getModifiableMessageMap()},
+ * and published as an immutable map by {@link #setLoaded(boolean) setLoaded(true)},
+ * {@link #setModified(boolean) setModified(true)} or {@link #freeze()}. Other threads can read the published map
+ * and the state of this loader without locking while the loader is loading or merging.
+ * Methods that modify the loader should not be called concurrently.
+ */
 public abstract class AbstractTranslationLoader implements TranslationLoader {
 
     private final Locale locale;
-    private final Map<String, String> messageMap = new HashMap<>();
+    private volatile Map<String, String> messageMap = CompactMessageMap.copyOf(Map.of());
+    private Map<String, String> workingMap;
 
-    private String version;
-    private boolean isLoaded = false;
-    private boolean isModified = false;
+    private volatile String version;
+    private volatile boolean isLoaded = false;
+    private volatile boolean isModified = false;
 
     /**
      * The constructor of {@link AbstractTranslationLoader}.
@@ -40,7 +51,7 @@ public abstract class AbstractTranslationLoader implements TranslationLoader {
     public boolean register(@NotNull TranslationRegistry registry) {
         if (isLoaded || isModified) {
             Collector<Map.Entry<String, String>, ?, Map<String, MessageFormat>> collector =
-                    Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> new MessageFormat(entry.getValue()));
+                    Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> LocalizedFormats.createMessageFormat(entry.getValue(), locale));
 
             registry.registerAll(locale, messageMap.entrySet().stream().collect(collector));
             return true;
@@ -56,7 +67,7 @@ public abstract class AbstractTranslationLoader implements TranslationLoader {
 
     @Override
     public @NotNull @UnmodifiableView Map<String, String> getMessageMap() {
-        return Collections.unmodifiableMap(messageMap);
+        return messageMap;
     }
 
     @Override
@@ -67,7 +78,7 @@ public abstract class AbstractTranslationLoader implements TranslationLoader {
     @Override
     public void setVersion(@NotNull String version) {
         Objects.requireNonNull(version);
-        if (!this.version.equals(version)) {
+        if (!getVersion().equals(version)) {
             this.version = version;
             setModified(true);
         }
@@ -85,15 +96,25 @@ public abstract class AbstractTranslationLoader implements TranslationLoader {
             return;
         }
 
+        var current = workingMap != null ? workingMap : messageMap;
+        Map<String, String> modifiableMap = null;
+
         for (var entry : map.entrySet()) {
             var key = Objects.requireNonNull(entry.getKey());
             var value = Objects.requireNonNull(entry.getValue());
 
-            if (!messageMap.containsKey(key)) {
-                messageMap.put(key, value);
-                setModified(true);
+            if (!current.containsKey(key)) {
+                if (modifiableMap == null) {
+                    modifiableMap = getModifiableMessageMap();
+                }
+
+                modifiableMap.put(key, value);
             }
         }
+
+        if (modifiableMap != null) {
+            setModified(true);
+        }
     }
 
     @Override
@@ -102,29 +123,73 @@ public abstract class AbstractTranslationLoader implements TranslationLoader {
     }
 
     /**
-     * Gets the modifiable message map.
+     * Gets the modifiable working map.
+     * <p>
+     * The working map is a copy of the published message map, and changes are visible
+     * from {@link #getMessageMap()} after {@code setLoaded(true)}, {@code setModified(true)} or {@link #freeze()} is called.
      *
-     * @return the modifiable message map
+     * @return the modifiable working map
      */
     protected @NotNull Map<String, String> getModifiableMessageMap() {
-        return messageMap;
+        if (workingMap == null) {
+            workingMap = new HashMap<>(messageMap);
+        }
+
+        return workingMap;
+    }
+
+    /**
+     * Clears the working map.
+     * <p>
+     * Unlike {@code getModifiableMessageMap().clear()}, this method does not copy the published message map.
+     * The published message map is kept until the working map is published.
+     */
+    protected void clearMessageMap() {
+        workingMap = new HashMap<>();
+    }
+
+    /**
+     * Publishes the working map as the compact read-only map.
+     * <p>
+     * This method is called by {@code setLoaded(true)} and {@code setModified(true)},
+     * so subclasses only need to call it to publish messages without changing these states.
+     *
+     * @see CompactMessageMap
+     */
+    protected void freeze() {
+        if (workingMap != null) {
+            messageMap = CompactMessageMap.copyOf(workingMap);
+            workingMap = null;
+        }
     }
 
     /**
      * Sets if the message was loaded successfully.
+     * <p>
+     * If {@code true}, the working map is published by {@link #freeze()}.
      *
      * @param isLoaded {@code true} if the message was loaded, {@code false} otherwise
      */
     protected void setLoaded(boolean isLoaded) {
+        if (isLoaded) {
+            freeze();
+        }
+
         this.isLoaded = isLoaded;
     }
 
     /**
      * Set if the message was loaded successfully.
+     * <p>
+     * If {@code true}, the working map is published by {@link #freeze()}.
      *
      * @param isModified {@code true} if this loader is modified, {@code false} otherwise
      */
     protected void setModified(boolean isModified) {
+        if (isModified) {
+            freeze();
+        }
+
         this.isModified = isModified;
     }
 
@@ -0,0 +1,154 @@
+package com.github.siroshun09.translationloader;
+
+import com.github.siroshun09.translationloader.util.LocalizedFormats;
+import net.kyori.adventure.translation.TranslationRegistry;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * A thread-safe {@link TranslationLoader} that wraps another {@link TranslationLoader}.
+ * <p>
+ * Methods that modify the loader ({@link #load()}, {@link #merge(TranslationLoader)}, {@link #setVersion(String)}
+ * and {@link #save()}) are serialized, and the result is published as an immutable snapshot after each of them.
+ * <p>
+ * Other methods read the published snapshot without locking, so they can be called from any thread
+ * while the loader is loading or merging, and they always see a consistent state.
+ */
+public final class ConcurrentTranslationLoader implements TranslationLoader {
+
+    /**
+     * Creates a new {@link ConcurrentTranslationLoader}.
+     * <p>
+     * The wrapped loader should not be used directly after wrapping.
+     *
+     * @param loader the {@link TranslationLoader} to wrap
+     * @return new {@link ConcurrentTranslationLoader}
+     */
+    @Contract("_ -> new")
+    public static @NotNull ConcurrentTranslationLoader wrap(@NotNull TranslationLoader loader) {
+        return new ConcurrentTranslationLoader(Objects.requireNonNull(loader));
+    }
+
+    private final TranslationLoader delegate;
+    private final Object lock = new Object();
+
+    private volatile Snapshot snapshot;
+
+    private ConcurrentTranslationLoader(@NotNull TranslationLoader delegate) {
+        this.delegate = delegate;
+        this.snapshot = Snapshot.of(delegate);
+    }
+
+    @Override
+    public void load() throws IOException {
+        synchronized (lock) {
+            try {
+                delegate.load();
+            } finally {
+                snapshot = Snapshot.of(delegate);
+            }
+        }
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return snapshot.loaded;
+    }
+
+    @Override
+    public boolean register(@NotNull TranslationRegistry registry) {
+        var current = snapshot;
+
+        if (current.loaded || current.modified) {
+            Collector<Map.Entry<String, String>, ?, Map<String, MessageFormat>> collector =
+                    Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> LocalizedFormats.createMessageFormat(entry.getValue(), getLocale()));
+
+            registry.registerAll(getLocale(), current.messageMap.entrySet().stream().collect(collector));
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public @NotNull Locale getLocale() {
+        return delegate.getLocale();
+    }
+
+    /**
+     * Gets the snapshot of the message map.
+     * <p>
+     * The returned map is immutable and does not reflect later changes.
+     *
+     * @return the message map
+     */
+    @Override
+    public @NotNull @Unmodifiable Map<String, String> getMessageMap() {
+        return snapshot.messageMap;
+    }
+
+    @Override
+    public @NotNull String getVersion() {
+        return snapshot.version;
+    }
+
+    @Override
+    public void setVersion(@NotNull String newVersion) {
+        synchronized (lock) {
+            delegate.setVersion(newVersion);
+            snapshot = Snapshot.of(delegate);
+        }
+    }
+
+    @Override
+    public void merge(@NotNull TranslationLoader other) {
+        synchronized (lock) {
+            delegate.merge(other);
+            snapshot = Snapshot.of(delegate);
+        }
+    }
+
+    @Override
+    public boolean isModified() {
+        return snapshot.modified;
+    }
+
+    @Override
+    public void save() throws IOException {
+        synchronized (lock) {
+            try {
+                delegate.save();
+            } finally {
+                snapshot = Snapshot.of(delegate);
+            }
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static @NotNull Snapshot of(@NotNull TranslationLoader loader) {
+            return new Snapshot(Map.copyOf(loader.getMessageMap()), loader.getVersion(), loader.isLoaded(), loader.isModified());
+        }
+
+        private final Map<String, String> messageMap;
+        private final String version;
+        private final boolean loaded;
+        private final boolean modified;
+
+        private Snapshot(@NotNull Map<String, String> messageMap, @NotNull String version, boolean loaded, boolean modified) {
+            this.messageMap = messageMap;
+            this.version = version;
+            this.loaded = loaded;
+            this.modified = modified;
+        }
+    }
+}
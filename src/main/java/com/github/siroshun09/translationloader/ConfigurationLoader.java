@@ -25,7 +25,7 @@ public class ConfigurationLoader extends AbstractTranslationLoader {
     public void load() throws IOException {
         setLoaded(false);
 
-        getModifiableMessageMap().clear();
+        clearMessageMap();
 
         importMessagesFromConfiguration(source, "");
         setLoadedVersion(source.getString("v"));
@@ -1,11 +1,14 @@
 package com.github.siroshun09.translationloader;
 
 import com.github.siroshun09.configapi.api.file.FileConfiguration;
+import com.github.siroshun09.translationloader.util.ExtensionUtil;
 import com.github.siroshun09.translationloader.util.LocaleParser;
+import com.github.siroshun09.translationloader.util.MessageFileWriter;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Locale;
 
 public class FileConfigurationLoader extends ConfigurationLoader {
@@ -43,6 +46,19 @@ public class FileConfigurationLoader extends ConfigurationLoader {
         }
     }
 
+    /**
+     * Saves messages to the file.
+     * <p>
+     * YAML ({@code .yml}, {@code .yaml}) and properties ({@code .properties}) files are rewritten from the messages
+     * by {@link MessageFileWriter} in order of the key, without updating the {@link FileConfiguration}.
+     * The file only contains the messages and the version: comments and the formatting of the file are not kept,
+     * and all values are written as strings (every key of the file is loaded as the message).
+     * <p>
+     * YAML files that have keys which cannot be written as nested sections (e.g. {@code a} and {@code a.b}),
+     * and files of other formats, are saved by the {@link FileConfiguration}.
+     *
+     * @throws IOException if I/O error occurred
+     */
     @Override
     public void save() throws IOException {
         if (!isModified()) {
@@ -50,8 +66,22 @@ public class FileConfigurationLoader extends ConfigurationLoader {
         }
 
         try (source) {
-            super.save();
-            source.save();
+            var path = source.getPath();
+            var extension = ExtensionUtil.getExtension(path);
+            var messages = new HashMap<>(getMessageMap());
+            messages.put("v", getVersion());
+
+            if (extension.equals("properties")) {
+                MessageFileWriter.writeProperties(messages, path);
+                setModified(false);
+            } else if ((extension.equals("yml") || extension.equals("yaml")) && MessageFileWriter.canWriteYamlSections(messages)) {
+                // the quoted key for the conflicting key cannot be read by the configuration that resolves keys as paths
+                MessageFileWriter.writeYaml(messages, path);
+                setModified(false);
+            } else {
+                super.save();
+                source.save();
+            }
         }
     }
 }
@@ -0,0 +1,456 @@
+package com.github.siroshun09.translationloader;
+
+import com.github.siroshun09.translationloader.util.LocaleParser;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A {@link TranslationLoader} that loads messages from the json file.
+ * <p>
+ * Nested objects are flattened by joining keys with {@code .}, and the top-level {@code v} is used as the version.
+ * <p>
+ * If the file name ends with {@code .gz}, the file is read and written as gzip-compressed.
+ * <p>
+ * When saving, messages are written as a flat object sorted by key to the temporary file, and the file is replaced by it atomically.
+ */
+public class JsonFileLoader extends AbstractTranslationLoader {
+
+    /**
+     * Creates a new {@link JsonFileLoader}.
+     *
+     * @param file the json file to load
+     * @return new {@link JsonFileLoader}
+     * @throws IllegalStateException if the locale could not be parsed from the file name
+     */
+    @Contract("_ -> new")
+    public static @NotNull JsonFileLoader create(@NotNull Path file) {
+        var locale = LocaleParser.fromFileName(file);
+
+        if (locale != null) {
+            return create(locale, file);
+        } else {
+            throw new IllegalStateException("Could not get the locale");
+        }
+    }
+
+    /**
+     * Creates a new {@link JsonFileLoader}.
+     *
+     * @param locale the locale of messages
+     * @param file   the json file to load
+     * @return new {@link JsonFileLoader}
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull JsonFileLoader create(@NotNull Locale locale, @NotNull Path file) {
+        return new JsonFileLoader(locale, file);
+    }
+
+    private static final String VERSION_KEY = "v";
+
+    private final Path file;
+
+    private JsonFileLoader(@NotNull Locale locale, @NotNull Path file) {
+        super(locale);
+        this.file = file;
+    }
+
+    @Override
+    public void load() throws IOException {
+        setLoaded(false);
+
+        clearMessageMap();
+
+        if (!Files.isRegularFile(file)) {
+            setLoadedVersion("");
+            setLoaded(true);
+            return;
+        }
+
+        String json;
+
+        try (var in = openInput()) {
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        var messageMap = getModifiableMessageMap();
+        var reader = new Reader(json);
+        reader.readRoot(messageMap);
+
+        var version = messageMap.remove(VERSION_KEY);
+        setLoadedVersion(version != null ? version : "");
+
+        setLoaded(true);
+    }
+
+    @Override
+    public void save() throws IOException {
+        if (!isModified()) {
+            return;
+        }
+
+        var parent = file.toAbsolutePath().getParent();
+
+        Files.createDirectories(parent);
+
+        // the file may be read by other threads while saving (e.g. the lazy loading), so it is replaced atomically
+        var temp = Files.createTempFile(parent, String.valueOf(file.getFileName()), ".tmp");
+
+        try (var writer = new BufferedWriter(new OutputStreamWriter(openOutput(temp), StandardCharsets.UTF_8))) {
+            writer.write('{');
+            writer.write('\n');
+
+            writeEntry(writer, VERSION_KEY, getVersion());
+
+            for (var entry : new TreeMap<>(getMessageMap()).entrySet()) {
+                writer.write(',');
+                writer.write('\n');
+                writeEntry(writer, entry.getKey(), entry.getValue());
+            }
+
+            writer.write('\n');
+            writer.write('}');
+            writer.write('\n');
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        setModified(false);
+    }
+
+    /**
+     * Gets the json file.
+     *
+     * @return the json file
+     */
+    public @NotNull Path getFile() {
+        return file;
+    }
+
+    private boolean isCompressed() {
+        var fileName = file.getFileName();
+        return fileName != null && fileName.toString().endsWith(".gz");
+    }
+
+    private @NotNull InputStream openInput() throws IOException {
+        var in = Files.newInputStream(file);
+        return isCompressed() ? new GZIPInputStream(in) : in;
+    }
+
+    private @NotNull OutputStream openOutput(@NotNull Path target) throws IOException {
+        var out = Files.newOutputStream(target);
+        return isCompressed() ? new GZIPOutputStream(out) : out;
+    }
+
+    private static void writeEntry(@NotNull Writer writer, @NotNull String key, @NotNull String value) throws IOException {
+        writer.write("  ");
+        writeString(writer, key);
+        writer.write(": ");
+        writeString(writer, value);
+    }
+
+    private static void writeString(@NotNull Writer writer, @NotNull String str) throws IOException {
+        writer.write('"');
+
+        for (int i = 0, length = str.length(); i < length; i++) {
+            char c = str.charAt(i);
+
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+
+        writer.write('"');
+    }
+
+    private static final class Reader {
+
+        private final String json;
+        private int index;
+
+        private Reader(@NotNull String json) {
+            this.json = json;
+        }
+
+        private void readRoot(@NotNull Map<String, String> messageMap) throws IOException {
+            skipWhitespace();
+            readObject(messageMap, "");
+            skipWhitespace();
+
+            if (index != json.length()) {
+                throw error("Unexpected trailing content");
+            }
+        }
+
+        private void readObject(@NotNull Map<String, String> messageMap, @NotNull String keyPrefix) throws IOException {
+            expect('{');
+            skipWhitespace();
+
+            if (peek() == '}') {
+                index++;
+                return;
+            }
+
+            while (true) {
+                skipWhitespace();
+                var key = keyPrefix + readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                readValue(messageMap, key);
+                skipWhitespace();
+
+                char c = next();
+
+                if (c == '}') {
+                    return;
+                } else if (c != ',') {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+        }
+
+        private void readValue(@NotNull Map<String, String> messageMap, @NotNull String key) throws IOException {
+            char c = peek();
+
+            switch (c) {
+                case '{':
+                    readObject(messageMap, key + '.');
+                    break;
+                case '"':
+                    messageMap.put(key, readString());
+                    break;
+                case 't':
+                    readLiteral("true");
+                    messageMap.put(key, "true");
+                    break;
+                case 'f':
+                    readLiteral("false");
+                    messageMap.put(key, "false");
+                    break;
+                case 'n':
+                    readLiteral("null");
+                    break;
+                case '[':
+                    throw error("Arrays are not supported");
+                default:
+                    messageMap.put(key, readNumber());
+            }
+        }
+
+        private @NotNull String readString() throws IOException {
+            expect('"');
+
+            int start = index;
+
+            // fast path: no escape sequences
+            while (index < json.length()) {
+                char c = json.charAt(index);
+
+                if (c == '"') {
+                    return json.substring(start, index++);
+                } else if (c == '\\') {
+                    break;
+                }
+
+                index++;
+            }
+
+            var builder = new StringBuilder(json.length() - start).append(json, start, index);
+
+            while (true) {
+                char c = next();
+
+                if (c == '"') {
+                    return builder.toString();
+                }
+
+                if (c != '\\') {
+                    builder.append(c);
+                    continue;
+                }
+
+                char escaped = next();
+
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        builder.append(escaped);
+                        break;
+                    case 'b':
+                        builder.append('\b');
+                        break;
+                    case 'f':
+                        builder.append('\f');
+                        break;
+                    case 'n':
+                        builder.append('\n');
+                        break;
+                    case 'r':
+                        builder.append('\r');
+                        break;
+                    case 't':
+                        builder.append('\t');
+                        break;
+                    case 'u':
+                        builder.append(readUnicodeEscape());
+                        break;
+                    default:
+                        throw error("Invalid escape sequence");
+                }
+            }
+        }
+
+        private char readUnicodeEscape() throws IOException {
+            // Integer.parseInt accepts signs (e.g. "+04A"), so the four hex digits are checked one by one
+            int value = 0;
+
+            for (int i = 0; i < 4; i++) {
+                char c = next();
+                int digit;
+
+                if ('0' <= c && c <= '9') {
+                    digit = c - '0';
+                } else if ('a' <= c && c <= 'f') {
+                    digit = c - 'a' + 10;
+                } else if ('A' <= c && c <= 'F') {
+                    digit = c - 'A' + 10;
+                } else {
+                    index--;
+                    throw error("Invalid unicode escape");
+                }
+
+                value = (value << 4) | digit;
+            }
+
+            return (char) value;
+        }
+
+        private @NotNull String readNumber() throws IOException {
+            // -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?
+            int start = index;
+
+            if (index < json.length() && json.charAt(index) == '-') {
+                index++;
+            }
+
+            if (index < json.length() && json.charAt(index) == '0') {
+                index++;
+            } else {
+                readDigits();
+            }
+
+            if (index < json.length() && json.charAt(index) == '.') {
+                index++;
+                readDigits();
+            }
+
+            if (index < json.length() && (json.charAt(index) == 'e' || json.charAt(index) == 'E')) {
+                index++;
+
+                if (index < json.length() && (json.charAt(index) == '+' || json.charAt(index) == '-')) {
+                    index++;
+                }
+
+                readDigits();
+            }
+
+            return json.substring(start, index);
+        }
+
+        private void readDigits() throws IOException {
+            int start = index;
+
+            while (index < json.length() && '0' <= json.charAt(index) && json.charAt(index) <= '9') {
+                index++;
+            }
+
+            if (start == index) {
+                throw error(index < json.length() ? "Unexpected character" : "Unexpected end of file");
+            }
+        }
+
+        private void readLiteral(@NotNull String literal) throws IOException {
+            if (!json.startsWith(literal, index)) {
+                throw error("Unexpected character");
+            }
+
+            index += literal.length();
+        }
+
+        private void skipWhitespace() {
+            while (index < json.length()) {
+                char c = json.charAt(index);
+
+                if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                    index++;
+                } else {
+                    break;
+                }
+            }
+        }
+
+        private char peek() throws IOException {
+            if (index < json.length()) {
+                return json.charAt(index);
+            } else {
+                throw error("Unexpected end of file");
+            }
+        }
+
+        private char next() throws IOException {
+            char c = peek();
+            index++;
+            return c;
+        }
+
+        private void expect(char expected) throws IOException {
+            if (next() != expected) {
+                index--;
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private @NotNull IOException error(@NotNull String message) {
+            return new IOException(message + " at index " + index);
+        }
+    }
+}
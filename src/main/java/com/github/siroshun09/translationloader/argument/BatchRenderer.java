@@ -0,0 +1,137 @@
+package com.github.siroshun09.translationloader.argument;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.renderer.ComponentRenderer;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A class to render a {@link Component} for many locales at once.
+ * <p>
+ * When broadcasting a message to many players, the same locale usually appears many times.
+ * This class renders the component only once per distinct {@link Locale},
+ * so the result can be looked up by the locale of each player.
+ */
+public final class BatchRenderer {
+
+    /**
+     * The number of distinct locales from which rendering is performed in parallel.
+     */
+    public static final int PARALLEL_THRESHOLD = 16;
+
+    private BatchRenderer() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Renders the {@link Component} once per distinct locale using {@link GlobalTranslator#renderer()}.
+     *
+     * @param component the component to render
+     * @param locales   the locales of targets, which may contain duplicates
+     * @return the map of the locale and the rendered component
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull @Unmodifiable Map<Locale, Component> render(@NotNull Component component,
+                                                                      @NotNull Collection<Locale> locales) {
+        return render(component, locales, GlobalTranslator.renderer());
+    }
+
+    /**
+     * Renders the {@link Component} once per distinct locale.
+     * <p>
+     * If the number of distinct locales is {@link #PARALLEL_THRESHOLD} or more, components are rendered in parallel.
+     *
+     * @param component the component to render
+     * @param locales   the locales of targets, which may contain duplicates
+     * @param renderer  the renderer to use
+     * @return the map of the locale and the rendered component
+     */
+    @Contract("_, _, _ -> new")
+    public static @NotNull @Unmodifiable Map<Locale, Component> render(@NotNull Component component,
+                                                                      @NotNull Collection<Locale> locales,
+                                                                      @NotNull ComponentRenderer<Locale> renderer) {
+        Objects.requireNonNull(component);
+        Objects.requireNonNull(renderer);
+
+        Set<Locale> distinctLocales = locales instanceof Set ? (Set<Locale>) locales : new HashSet<>(locales);
+        return render(distinctLocales, locale -> renderer.render(component, locale));
+    }
+
+    /**
+     * Renders the {@link Component} of each locale using {@link GlobalTranslator#renderer()}.
+     * <p>
+     * This method is used when the component depends on the locale (e.g. the component that contains formatted numbers).
+     *
+     * @param components the map of the locale and the component to render
+     * @return the map of the locale and the rendered component
+     */
+    @Contract("_ -> new")
+    public static @NotNull @Unmodifiable Map<Locale, Component> render(@NotNull Map<Locale, ? extends Component> components) {
+        return render(components, GlobalTranslator.renderer());
+    }
+
+    /**
+     * Renders the {@link Component} of each locale.
+     * <p>
+     * If the number of locales is {@link #PARALLEL_THRESHOLD} or more, components are rendered in parallel.
+     *
+     * @param components the map of the locale and the component to render
+     * @param renderer   the renderer to use
+     * @return the map of the locale and the rendered component
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull @Unmodifiable Map<Locale, Component> render(@NotNull Map<Locale, ? extends Component> components,
+                                                                      @NotNull ComponentRenderer<Locale> renderer) {
+        Objects.requireNonNull(renderer);
+        return render(components.keySet(), locale -> renderer.render(components.get(locale), locale));
+    }
+
+    /**
+     * Creates the {@link Component} once per distinct locale and renders it using {@link GlobalTranslator#renderer()}.
+     * <p>
+     * This method is used when the component depends on the locale (e.g. the component that contains formatted numbers).
+     * If the number of distinct locales is {@link #PARALLEL_THRESHOLD} or more, components are created and rendered in parallel.
+     *
+     * @param locales the locales of targets, which may contain duplicates
+     * @param factory the function to create the component for the locale
+     * @return the map of the locale and the rendered component
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull @Unmodifiable Map<Locale, Component> renderEach(@NotNull Collection<Locale> locales,
+                                                                          @NotNull Function<? super Locale, ? extends Component> factory) {
+        Objects.requireNonNull(factory);
+
+        var renderer = GlobalTranslator.renderer();
+        Set<Locale> distinctLocales = locales instanceof Set ? (Set<Locale>) locales : new HashSet<>(locales);
+        return render(distinctLocales, locale -> renderer.render(factory.apply(locale), locale));
+    }
+
+    private static @NotNull Map<Locale, Component> render(@NotNull Set<Locale> locales,
+                                                          @NotNull Function<Locale, Component> renderFunction) {
+        if (locales.size() < PARALLEL_THRESHOLD) {
+            var result = new HashMap<Locale, Component>(locales.size() * 2);
+
+            for (var locale : locales) {
+                result.put(locale, renderFunction.apply(locale));
+            }
+
+            return Map.copyOf(result);
+        }
+
+        var result = new ConcurrentHashMap<Locale, Component>(locales.size() * 2);
+        locales.parallelStream().forEach(locale -> result.put(locale, renderFunction.apply(locale)));
+        return Map.copyOf(result);
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.siroshun09.translationloader.argument;
+
+import com.github.siroshun09.translationloader.util.NumberFormatter;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An interface to create a component with an int argument.
+ * <p>
+ * Unlike {@link SingleArgument}, the argument is not boxed, and the {@link Locale} is given to format the number.
+ */
+@FunctionalInterface
+public interface IntArgument {
+
+    /**
+     * Creates the {@link IntArgument} that creates the translatable component with the formatted number.
+     *
+     * @param key the translation key
+     * @return the {@link IntArgument}
+     * @see NumberFormatter#format(long, Locale)
+     */
+    @Contract(value = "_ -> new", pure = true)
+    static @NotNull IntArgument translatable(@NotNull String key) {
+        return (value, locale) -> Component.translatable(key, Component.text(NumberFormatter.format(value, locale)));
+    }
+
+    /**
+     * Creates a {@link Component}.
+     *
+     * @param value  the argument
+     * @param locale the {@link Locale} to format the argument
+     * @return the {@link Component} that is applied the argument
+     */
+    @NotNull Component apply(int value, @NotNull Locale locale);
+
+    /**
+     * Creates and renders the {@link Component} once per distinct locale.
+     *
+     * @param value   the argument
+     * @param locales the locales of targets, which may contain duplicates
+     * @return the map of the locale and the rendered component
+     * @see BatchRenderer#renderEach(Collection, Function)
+     */
+    default @NotNull @Unmodifiable Map<Locale, Component> renderAll(int value, @NotNull Collection<Locale> locales) {
+        return BatchRenderer.renderEach(locales, locale -> apply(value, locale));
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.siroshun09.translationloader.argument;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An interface to create a component with an object argument and a double argument.
+ * <p>
+ * Unlike {@link DoubleArgument}, the second argument is not boxed, and the {@link Locale} is given to format the number.
+ *
+ * @param <A1> first argument type
+ */
+@FunctionalInterface
+public interface ObjDecimalArgument<A1> {
+
+    /**
+     * Creates a {@link Component}.
+     *
+     * @param a1     first argument
+     * @param a2     second argument
+     * @param locale the {@link Locale} to format the argument
+     * @return the {@link Component} that is applied arguments
+     */
+    @NotNull Component apply(@NotNull A1 a1, double a2, @NotNull Locale locale);
+
+    /**
+     * Creates and renders the {@link Component} once per distinct locale.
+     *
+     * @param a1      first argument
+     * @param a2      second argument
+     * @param locales the locales of targets, which may contain duplicates
+     * @return the map of the locale and the rendered component
+     * @see BatchRenderer#renderEach(Collection, Function)
+     */
+    default @NotNull @Unmodifiable Map<Locale, Component> renderAll(@NotNull A1 a1, double a2,
+                                                                    @NotNull Collection<Locale> locales) {
+        return BatchRenderer.renderEach(locales, locale -> apply(a1, a2, locale));
+    }
+}
@@ -2,6 +2,11 @@ package com.github.siroshun09.translationloader.argument;
 
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * An interface to create a component with three arguments.
@@ -22,4 +27,19 @@ public interface TripleArgument<A1, A2, A3> {
      */
     @NotNull Component apply(@NotNull A1 a1, @NotNull A2 a2, @NotNull A3 a3);
 
+    /**
+     * Creates a {@link Component} and renders it once per distinct locale.
+     *
+     * @param a1      first argument
+     * @param a2      second argument
+     * @param a3      third argument
+     * @param locales the locales of targets, which may contain duplicates
+     * @return the map of the locale and the rendered component
+     * @see BatchRenderer#render(Component, Collection)
+     */
+    default @NotNull @Unmodifiable Map<Locale, Component> renderAll(@NotNull A1 a1, @NotNull A2 a2, @NotNull A3 a3,
+                                                                    @NotNull Collection<Locale> locales) {
+        return BatchRenderer.render(apply(a1, a2, a3), locales);
+    }
+
 }
@@ -0,0 +1,205 @@
+package com.github.siroshun09.translationloader.directory;
+
+import com.github.siroshun09.translationloader.util.LocaleParser;
+import com.github.siroshun09.translationloader.util.LocalizedFormats;
+import com.github.siroshun09.translationloader.util.MessageIndex;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.translation.Translator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link Translator} that reads messages from {@link MessageIndex}es and caches recently used {@link MessageFormat}s.
+ * <p>
+ * The cache is bounded by the estimated size in bytes, and the least recently used message is evicted first.
+ * Keys that are not in the index are not cached, so looking up keys of other translators does not fill the cache.
+ * <p>
+ * The cache is split into segments by the hash of the key, and each segment has its own lock and a part of the size,
+ * so lookups from many threads do not wait for one lock. The order of eviction is kept in each segment.
+ */
+final class CachedTranslator implements Translator {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final long MIN_SEGMENT_BYTES = 16 * 1024;
+
+    private final Key name;
+    private final Locale defaultLocale;
+    private final Segment[] segments;
+
+    private volatile Map<Locale, MessageIndex> indexes;
+
+    CachedTranslator(@NotNull Key name, @NotNull Map<Locale, MessageIndex> indexes,
+                     @NotNull Locale defaultLocale, long maxBytes) {
+        this.name = name;
+        this.indexes = Map.copyOf(indexes);
+        this.defaultLocale = defaultLocale;
+
+        // small caches use fewer segments so that each segment can hold enough messages
+        int segmentCount = 1;
+
+        while (segmentCount < MAX_SEGMENTS && MIN_SEGMENT_BYTES * segmentCount * 2 <= maxBytes) {
+            segmentCount <<= 1;
+        }
+
+        this.segments = new Segment[segmentCount];
+
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxBytes / segmentCount);
+        }
+    }
+
+    @Override
+    public @NotNull Key name() {
+        return name;
+    }
+
+    @Override
+    public @Nullable MessageFormat translate(@NotNull String key, @NotNull Locale locale) {
+        // the same fallback as TranslationRegistry: the locale, the language-only locale, and the default locale
+        var format = lookup(key, locale);
+
+        if (format == null && (!locale.getCountry().isEmpty() || !locale.getVariant().isEmpty())) {
+            var language = LocaleParser.parse(locale.getLanguage());
+
+            if (language != null) {
+                format = lookup(key, language);
+            }
+        }
+
+        if (format == null && !locale.equals(defaultLocale)) {
+            format = lookup(key, defaultLocale);
+        }
+
+        return format;
+    }
+
+    void replaceIndexes(@NotNull Map<Locale, MessageIndex> newIndexes) {
+        // lookups that read the old indexes do not add entries after the segment is cleared (see lookup)
+        indexes = Map.copyOf(newIndexes);
+
+        for (var segment : segments) {
+            synchronized (segment) {
+                segment.cache.clear();
+                segment.cachedBytes = 0;
+            }
+        }
+    }
+
+    @NotNull Map<Locale, MessageIndex> getIndexes() {
+        return indexes;
+    }
+
+    private @Nullable MessageFormat lookup(@NotNull String key, @NotNull Locale locale) {
+        var index = indexes.get(locale);
+
+        if (index == null) {
+            return null;
+        }
+
+        var cacheKey = new CacheKey(locale, key);
+        var segment = segments[(cacheKey.hash ^ (cacheKey.hash >>> 16)) & (segments.length - 1)];
+        CacheEntry entry;
+
+        synchronized (segment) {
+            entry = segment.cache.get(cacheKey);
+        }
+
+        if (entry == null) {
+            // probing the index for the missing key does not allocate unless the hash matches
+            var message = index.get(key);
+
+            if (message == null) {
+                return null;
+            }
+
+            entry = new CacheEntry(LocalizedFormats.createMessageFormat(message, locale), estimateSize(key, message));
+
+            synchronized (segment) {
+                if (indexes.get(locale) == index && segment.cache.putIfAbsent(cacheKey, entry) == null) {
+                    segment.cachedBytes += entry.size;
+                    segment.evict();
+                }
+            }
+        }
+
+        return entry.format;
+    }
+
+    private static long estimateSize(@NotNull String key, @NotNull String message) {
+        // the cache entry, the key, and MessageFormat with its parsed pattern (roughly three times the pattern)
+        return 96 + 2L * key.length() + 64 + 6L * message.length();
+    }
+
+    private static final class Segment {
+
+        private final LinkedHashMap<CacheKey, CacheEntry> cache = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxBytes;
+        private long cachedBytes; // guarded by this
+
+        private Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private void evict() {
+            var iterator = cache.entrySet().iterator();
+
+            while (maxBytes < cachedBytes && iterator.hasNext()) {
+                cachedBytes -= iterator.next().getValue().size;
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class CacheEntry {
+
+        private final MessageFormat format;
+        private final long size; // the size added to the segment, subtracted as it is on eviction
+
+        private CacheEntry(@NotNull MessageFormat format, long size) {
+            this.format = format;
+            this.size = size;
+        }
+    }
+
+    private static final class CacheKey {
+
+        private final Locale locale;
+        private final String key;
+        private final int hash;
+
+        private CacheKey(@NotNull Locale locale, @NotNull String key) {
+            this.locale = locale;
+            this.key = key;
+            this.hash = 31 * locale.hashCode() + key.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+
+            var other = (CacheKey) o;
+            return hash == other.hash && key.equals(other.key) && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return locale + ":" + key;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.siroshun09.translationloader.directory;
+
+import com.github.siroshun09.translationloader.TranslationLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * A manifest that records the version and the hash of the source that was merged last time into each file.
+ */
+final class DirectoryManifest {
+
+    static final String FILE_NAME = ".manifest.properties";
+
+    private static final String VERSION_SUFFIX = ".version";
+    private static final String SOURCE_HASH_SUFFIX = ".source-hash";
+
+    static @NotNull DirectoryManifest load(@NotNull Path directory) throws IOException {
+        var file = directory.resolve(FILE_NAME);
+        var properties = new Properties();
+
+        if (Files.isRegularFile(file)) {
+            try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+
+        return new DirectoryManifest(file, properties);
+    }
+
+    static @NotNull String hash(@NotNull TranslationLoader loader) {
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        update(digest, loader.getVersion());
+
+        for (var entry : new TreeMap<>(loader.getMessageMap()).entrySet()) {
+            update(digest, entry.getKey());
+            update(digest, entry.getValue());
+        }
+
+        var builder = new StringBuilder();
+
+        for (var b : digest.digest()) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return builder.toString();
+    }
+
+    private static void update(@NotNull MessageDigest digest, @NotNull String str) {
+        digest.update(str.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private final Path file;
+    private final Properties properties;
+    private boolean modified;
+
+    private DirectoryManifest(@NotNull Path file, @NotNull Properties properties) {
+        this.file = file;
+        this.properties = properties;
+    }
+
+    boolean isUpToDate(@NotNull String fileName, @NotNull String version, @Nullable String sourceHash) {
+        return sourceHash != null &&
+                version.equals(properties.getProperty(fileName + VERSION_SUFFIX)) &&
+                sourceHash.equals(properties.getProperty(fileName + SOURCE_HASH_SUFFIX));
+    }
+
+    void record(@NotNull String fileName, @NotNull String version, @NotNull String sourceHash) {
+        properties.setProperty(fileName + VERSION_SUFFIX, version);
+        properties.setProperty(fileName + SOURCE_HASH_SUFFIX, sourceHash);
+        modified = true;
+    }
+
+    void saveIfModified() throws IOException {
+        if (!modified) {
+            return;
+        }
+
+        try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Generated by TranslationLoader. Delete this file to force merging missing messages.");
+        }
+
+        modified = false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.siroshun09.translationloader.directory;
+
+import com.github.siroshun09.translationloader.TranslationLoader;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * An interface to create {@link TranslationLoader} from the file in the directory.
+ * <p>
+ * The factory is registered to the file extension by {@link TranslationDirectoryBuilder#addFileFormat(String, FileLoaderFactory)}.
+ */
+@FunctionalInterface
+public interface FileLoaderFactory {
+
+    /**
+     * Creates {@link TranslationLoader} to load the file.
+     * <p>
+     * Returning {@link TranslationLoader} does not need to be loaded.
+     *
+     * @param locale the locale that is parsed from the file name
+     * @param file   the file to load
+     * @return the new {@link TranslationLoader}
+     */
+    @NotNull TranslationLoader create(@NotNull Locale locale, @NotNull Path file);
+
+}
@@ -0,0 +1,33 @@
+package com.github.siroshun09.translationloader.directory;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.translation.Translator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+/**
+ * A {@link Translator} that loads the locale of {@link TranslationDirectory} when it is first used.
+ */
+final class LazyLocaleTranslator implements Translator {
+
+    private final TranslationDirectory directory;
+    private final Key name;
+
+    LazyLocaleTranslator(@NotNull TranslationDirectory directory, @NotNull Key name) {
+        this.directory = directory;
+        this.name = name;
+    }
+
+    @Override
+    public @NotNull Key name() {
+        return name;
+    }
+
+    @Override
+    public @Nullable MessageFormat translate(@NotNull String key, @NotNull Locale locale) {
+        return directory.translateLazily(key, locale);
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.siroshun09.translationloader.directory;
+
+import com.github.siroshun09.translationloader.util.LocaleParser;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class to resolve the {@link Locale} to the best one of the loaded {@link Locale}s.
+ * <p>
+ * The {@link Locale} is resolved in the following order:
+ * <ol>
+ *     <li>The same {@link Locale}</li>
+ *     <li>The {@link Locale} of the same language (the language-only one is preferred, e.g. {@code en} for {@code en_GB})</li>
+ *     <li>The default {@link Locale}, or the loaded {@link Locale} of its language if the default {@link Locale} is not loaded</li>
+ *     <li>Any of the loaded {@link Locale}s</li>
+ * </ol>
+ * <p>
+ * The default {@link Locale} is returned as it is only if no {@link Locale} is loaded.
+ * <p>
+ * Results are cached in the concurrent map, so resolving the same string or {@link Locale} again
+ * is a single map read and does not allocate any object.
+ * <p>
+ * This class is immutable except the cache, and {@link TranslationDirectory} creates a new instance on every load.
+ */
+public final class LocaleResolver {
+
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    /**
+     * Creates a new {@link LocaleResolver}.
+     *
+     * @param locales       the loaded {@link Locale}s
+     * @param defaultLocale the {@link Locale} to use if the {@link Locale} could not be resolved
+     * @return new {@link LocaleResolver}
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull LocaleResolver create(@NotNull Collection<Locale> locales, @NotNull Locale defaultLocale) {
+        return new LocaleResolver(Set.copyOf(locales), Objects.requireNonNull(defaultLocale));
+    }
+
+    private final Set<Locale> locales;
+    private final Locale defaultLocale;
+    private final Locale fallbackLocale;
+    private final Map<String, Locale> languageMap;
+    private final Map<String, Locale> stringCache = new ConcurrentHashMap<>();
+    private final Map<Locale, Locale> localeCache = new ConcurrentHashMap<>();
+
+    private LocaleResolver(@NotNull Set<Locale> locales, @NotNull Locale defaultLocale) {
+        this.locales = locales;
+        this.defaultLocale = defaultLocale;
+
+        var languageMap = new HashMap<String, Locale>();
+        var sorted = locales.stream()
+                .sorted(Comparator.comparing((Locale locale) -> !locale.getCountry().isEmpty() || !locale.getVariant().isEmpty()) // prefer the language-only locale
+                        .thenComparing(locale -> !locale.equals(defaultLocale)) // then the default locale
+                        .thenComparing(Locale::toString))
+                .toArray(Locale[]::new);
+
+        for (var locale : sorted) {
+            languageMap.putIfAbsent(locale.getLanguage(), locale);
+        }
+
+        this.languageMap = Map.copyOf(languageMap);
+        if (sorted.length == 0 || locales.contains(defaultLocale)) {
+            this.fallbackLocale = defaultLocale;
+        } else {
+            this.fallbackLocale = languageMap.getOrDefault(defaultLocale.getLanguage(), sorted[0]);
+        }
+
+        for (var locale : locales) {
+            localeCache.put(locale, locale);
+
+            var tag = locale.toString();
+            var lowerTag = tag.toLowerCase(Locale.ROOT);
+
+            stringCache.put(tag, locale);
+            stringCache.put(lowerTag, locale);
+            stringCache.put(tag.replace('_', '-'), locale);
+            stringCache.put(lowerTag.replace('_', '-'), locale);
+        }
+    }
+
+    /**
+     * Resolves the string (e.g. {@code en_us} sent by the client) to the loaded {@link Locale}.
+     *
+     * @param str the string to resolve
+     * @return the resolved {@link Locale}, or the fallback {@link Locale} if the string is null or could not be resolved
+     */
+    public @NotNull Locale resolve(@Nullable String str) {
+        if (str == null) {
+            return fallbackLocale;
+        }
+
+        var cached = stringCache.get(str);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        var parsed = LocaleParser.parse(str);
+        var resolved = parsed != null ? resolve(parsed) : fallbackLocale;
+
+        if (stringCache.size() < MAX_CACHE_SIZE) {
+            stringCache.put(str, resolved);
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Resolves the {@link Locale} to the loaded {@link Locale}.
+     *
+     * @param locale the {@link Locale} to resolve
+     * @return the resolved {@link Locale}, or the fallback {@link Locale} if it could not be resolved
+     */
+    public @NotNull Locale resolve(@NotNull Locale locale) {
+        var cached = localeCache.get(locale);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        var resolved = languageMap.getOrDefault(locale.getLanguage(), fallbackLocale);
+
+        if (localeCache.size() < MAX_CACHE_SIZE) {
+            localeCache.put(locale, resolved);
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Gets the default {@link Locale}.
+     *
+     * @return the default {@link Locale}
+     */
+    public @NotNull Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    /**
+     * Gets the {@link Locale} that is used if the {@link Locale} could not be resolved.
+     * <p>
+     * This is the default {@link Locale} if it is loaded, otherwise the loaded {@link Locale} that is the closest to it.
+     *
+     * @return the fallback {@link Locale}
+     */
+    public @NotNull Locale getFallbackLocale() {
+        return fallbackLocale;
+    }
+
+    /**
+     * Gets the set of the {@link Locale}s that can be resolved.
+     *
+     * @return the set of the {@link Locale}s
+     */
+    public @NotNull @Unmodifiable Set<Locale> getLocales() {
+        return locales;
+    }
+}
@@ -0,0 +1,192 @@
+package com.github.siroshun09.translationloader.directory;
+
+import com.github.siroshun09.translationloader.util.PatternUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * A class to compare arguments of messages with messages of the default locale.
+ */
+final class MessageValidator {
+
+    private static final Comparator<ValidationResult.Mismatch> ORDER =
+            Comparator.<ValidationResult.Mismatch, String>comparing(mismatch -> mismatch.getLocale().toString())
+                    .thenComparing(ValidationResult.Mismatch::getKey)
+                    .thenComparing(ValidationResult.Mismatch::getType)
+                    .thenComparingInt(ValidationResult.Mismatch::getArgumentIndex);
+
+    private MessageValidator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Validates messages of each locale in parallel.
+     *
+     * @param defaultLocale    the {@link Locale} to use as the reference
+     * @param messagesByLocale the merged messages of each locale
+     * @return the {@link ValidationResult}
+     */
+    static @NotNull ValidationResult validate(@NotNull Locale defaultLocale,
+                                              @NotNull Map<Locale, Map<String, String>> messagesByLocale) {
+        var defaultMessages = messagesByLocale.getOrDefault(defaultLocale, Map.of());
+        var defaultSignatures = new HashMap<String, Map<Integer, String>>();
+        var mismatches = new ArrayList<ValidationResult.Mismatch>();
+
+        defaultMessages.forEach((key, message) -> {
+            var signature = parseSignature(message);
+
+            if (signature != null) {
+                defaultSignatures.put(key, signature);
+            } else {
+                mismatches.add(new ValidationResult.Mismatch(defaultLocale, key, ValidationResult.Type.INVALID_PATTERN, -1));
+            }
+        });
+
+        var others = messagesByLocale.entrySet().parallelStream()
+                .filter(entry -> !entry.getKey().equals(defaultLocale))
+                .flatMap(entry -> validateLocale(entry.getKey(), entry.getValue(), defaultMessages, defaultSignatures).stream())
+                .collect(Collectors.toList());
+
+        mismatches.addAll(others);
+        mismatches.sort(ORDER);
+
+        return new ValidationResult(defaultLocale, mismatches);
+    }
+
+    private static @NotNull List<ValidationResult.Mismatch> validateLocale(@NotNull Locale locale,
+                                                                           @NotNull Map<String, String> messages,
+                                                                           @NotNull Map<String, String> defaultMessages,
+                                                                           @NotNull Map<String, Map<Integer, String>> defaultSignatures) {
+        var result = new ArrayList<ValidationResult.Mismatch>();
+
+        for (var entry : messages.entrySet()) {
+            var key = entry.getKey();
+            var signature = parseSignature(entry.getValue());
+
+            if (signature == null) {
+                result.add(new ValidationResult.Mismatch(locale, key, ValidationResult.Type.INVALID_PATTERN, -1));
+                continue;
+            }
+
+            if (!defaultMessages.containsKey(key)) {
+                result.add(new ValidationResult.Mismatch(locale, key, ValidationResult.Type.UNKNOWN_KEY, -1));
+                continue;
+            }
+
+            var defaultSignature = defaultSignatures.get(key);
+
+            if (defaultSignature == null || defaultSignature.equals(signature)) {
+                continue; // the default message is invalid (already reported) or arguments are the same
+            }
+
+            for (var argument : defaultSignature.entrySet()) {
+                var type = signature.get(argument.getKey());
+
+                if (type == null) {
+                    result.add(new ValidationResult.Mismatch(locale, key, ValidationResult.Type.MISSING_ARGUMENT, argument.getKey()));
+                } else if (!type.equals(argument.getValue())) {
+                    result.add(new ValidationResult.Mismatch(locale, key, ValidationResult.Type.ARGUMENT_TYPE_MISMATCH, argument.getKey()));
+                }
+            }
+
+            for (var index : signature.keySet()) {
+                if (!defaultSignature.containsKey(index)) {
+                    result.add(new ValidationResult.Mismatch(locale, key, ValidationResult.Type.EXTRA_ARGUMENT, index));
+                }
+            }
+        }
+
+        for (var key : defaultMessages.keySet()) {
+            if (!messages.containsKey(key)) {
+                result.add(new ValidationResult.Mismatch(locale, key, ValidationResult.Type.MISSING_KEY, -1));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Parses arguments used in the pattern of {@link java.text.MessageFormat}.
+     *
+     * @param pattern the pattern
+     * @return the map of the argument index and the format type (an empty string if not specified), or {@code null} if the pattern is invalid
+     */
+    static @Nullable Map<Integer, String> parseSignature(@NotNull String pattern) {
+        if (pattern.indexOf('{') == -1) {
+            return Map.of();
+        }
+
+        var signature = new TreeMap<Integer, String>();
+        return collectArguments(pattern, signature) ? signature : null;
+    }
+
+    private static boolean collectArguments(@NotNull String pattern, @NotNull Map<Integer, String> signature) {
+        boolean quoted = false;
+
+        for (int i = 0, length = pattern.length(); i < length; i++) {
+            char c = pattern.charAt(i);
+
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '{' && !quoted) {
+                int end = PatternUtil.findElementEnd(pattern, i + 1);
+
+                if (end == -1 || !collectArgument(pattern.substring(i + 1, end), signature)) {
+                    return false;
+                }
+
+                i = end;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean collectArgument(@NotNull String element, @NotNull Map<Integer, String> signature) {
+        int typeStart = element.indexOf(',');
+        var indexPart = (typeStart != -1 ? element.substring(0, typeStart) : element).trim();
+
+        int index;
+
+        try {
+            index = Integer.parseInt(indexPart);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        if (index < 0) {
+            return false;
+        }
+
+        String type = "";
+
+        if (typeStart != -1) {
+            int styleStart = element.indexOf(',', typeStart + 1);
+            type = (styleStart != -1 ? element.substring(typeStart + 1, styleStart) : element.substring(typeStart + 1))
+                    .trim().toLowerCase(Locale.ROOT);
+
+            // sub-messages of the choice format can use arguments too
+            if (type.equals("choice") && styleStart != -1 && !collectArguments(element.substring(styleStart + 1), signature)) {
+                return false;
+            }
+        }
+
+        var previous = signature.putIfAbsent(index, type);
+
+        // the same argument can be used with and without the type (e.g. {0,choice,...} and {0,number})
+        if (previous != null && previous.isEmpty()) {
+            signature.put(index, type);
+        }
+
+        return true;
+    }
+}
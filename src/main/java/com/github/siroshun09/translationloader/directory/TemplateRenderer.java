@@ -0,0 +1,58 @@
+package com.github.siroshun09.translationloader.directory;
+
+import com.github.siroshun09.translationloader.util.ComponentTemplate;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * A renderer that renders messages of the {@link TranslationDirectory} using {@link ComponentTemplate}s.
+ */
+final class TemplateRenderer extends TranslatableComponentRenderer<Locale> {
+
+    /**
+     * The marker of messages that cannot be parsed to {@link ComponentTemplate}.
+     */
+    static final ComponentTemplate UNSUPPORTED = ComponentTemplate.parse("");
+
+    private final TranslationDirectory directory;
+
+    TemplateRenderer(@NotNull TranslationDirectory directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    protected @Nullable MessageFormat translate(@NotNull String key, @NotNull Locale locale) {
+        return GlobalTranslator.get().translate(key, locale);
+    }
+
+    @Override
+    protected @NotNull Component renderTranslatable(@NotNull TranslatableComponent component, @NotNull Locale locale) {
+        var source = directory.getSource();
+        var format = source != null ? source.translate(component.key(), locale) : null;
+        var template = format != null ? directory.getTemplate(format) : null;
+
+        if (template == null) {
+            return super.renderTranslatable(component, locale);
+        }
+
+        var args = new ArrayList<Component>(component.args().size());
+
+        for (var arg : component.args()) {
+            args.add(render(arg, locale));
+        }
+
+        var builder = Component.text();
+        mergeStyle(component, builder, locale);
+        builder.append(template.apply(args));
+
+        return optionallyRenderChildrenAppendAndBuild(component.children(), builder, locale);
+    }
+}
@@ -1,27 +1,45 @@
 package com.github.siroshun09.translationloader.directory;
 
-import com.github.siroshun09.configapi.api.file.PropertiesConfiguration;
-import com.github.siroshun09.configapi.yaml.YamlConfiguration;
-import com.github.siroshun09.translationloader.FileConfigurationLoader;
 import com.github.siroshun09.translationloader.TranslationLoader;
+import com.github.siroshun09.translationloader.util.ComponentTemplate;
 import com.github.siroshun09.translationloader.util.ExtensionUtil;
 import com.github.siroshun09.translationloader.util.LocaleParser;
+import com.github.siroshun09.translationloader.util.LocalizedFormats;
+import com.github.siroshun09.translationloader.util.MessageIndex;
 import com.github.siroshun09.translationloader.util.PathConsumer;
 import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.renderer.ComponentRenderer;
 import net.kyori.adventure.translation.GlobalTranslator;
 import net.kyori.adventure.translation.TranslationRegistry;
+import net.kyori.adventure.translation.Translator;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * A class that loads messages from files in a directory.
@@ -30,15 +48,34 @@ public class TranslationDirectory {
 
     /**
      * Creates a new {@link TranslationDirectory}.
+     * <p>
+     * The default locale of registries is assumed to be {@link Locale#US}, the default of Adventure.
      *
      * @param directory        the directory to load
      * @param registrySupplier the supplier to create {@link TranslationRegistry}
      * @return new {@link TranslationDirectory}
+     * @deprecated use {@link #create(Path, Supplier, Locale)} to specify the default locale of registries
      */
+    @Deprecated
     @Contract("_, _ -> new")
     public static @NotNull TranslationDirectory create(@NotNull Path directory,
                                                        @NotNull Supplier<TranslationRegistry> registrySupplier) {
-        return new TranslationDirectory(directory, registrySupplier, null, null, null);
+        return create(directory, registrySupplier, Locale.US);
+    }
+
+    /**
+     * Creates a new {@link TranslationDirectory}.
+     *
+     * @param directory        the directory to load
+     * @param registrySupplier the supplier to create {@link TranslationRegistry}
+     * @param defaultLocale    the default locale that is set to created registries
+     * @return new {@link TranslationDirectory}
+     */
+    @Contract("_, _, _ -> new")
+    public static @NotNull TranslationDirectory create(@NotNull Path directory,
+                                                       @NotNull Supplier<TranslationRegistry> registrySupplier,
+                                                       @NotNull Locale defaultLocale) {
+        return newBuilder().setDirectory(directory).setRegistrySupplier(registrySupplier).setDefaultLocale(defaultLocale).build();
     }
 
     /**
@@ -50,7 +87,7 @@ public class TranslationDirectory {
      */
     @Contract("_, _ -> new")
     public static @NotNull TranslationDirectory create(@NotNull Path directory, @NotNull Key key) {
-        return create(directory, () -> TranslationRegistry.create(key));
+        return newBuilder().setDirectory(directory).setKey(key).build();
     }
 
     /**
@@ -63,24 +100,64 @@ public class TranslationDirectory {
         return new TranslationDirectoryBuilder();
     }
 
+    private static final System.Logger LOGGER = System.getLogger(TranslationDirectory.class.getName());
+    private static final long ACCESS_TIME_RESOLUTION = TimeUnit.SECONDS.toNanos(1);
+    private static final long RETRY_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+    private static final String CACHE_DIRECTORY_NAME = ".cache";
+    private static final String INDEX_FILE_EXTENSION = ".idx";
+    private static final long DEFAULT_CACHE_SIZE = 1024 * 1024;
+
     private final Path directory;
     private final Supplier<TranslationRegistry> registrySupplier;
     private final @Nullable PathConsumer onDirectoryCreated;
     private final @Nullable String version;
     private final @Nullable TranslationLoaderCreator translationLoaderCreator;
+    private final Map<String, FileLoaderFactory> fileFormats;
+    private final @Nullable Path packFile;
+    private final Locale defaultLocale;
+    private final boolean manifestEnabled;
+    private final boolean lazyLoading;
+    private final @Nullable Duration idleTimeout;
+    private final long cacheSize;
+    private final boolean offHeapStorage;
+    private final @Nullable TemplateRenderer templateRenderer;
+    private final boolean legacyFormattingEnabled;
+    private final boolean validationEnabled;
+
+    private final Object lock = new Object();
+    private final Object updateLock = new Object(); // lazy loading updates files without holding the lock
 
-    private final Set<Locale> loadedLocales = new HashSet<>();
+    private final AtomicLong loadRequests = new AtomicLong();
+    private long completedLoads; // guarded by lock
+    private long indexGeneration; // guarded by lock
 
-    private TranslationRegistry registry;
+    private volatile State state;
+    private Generation generation = new Generation(); // guarded by lock
+    private volatile ValidationResult validationResult;
 
     TranslationDirectory(@NotNull Path directory, @NotNull Supplier<TranslationRegistry> registrySupplier,
                          @Nullable PathConsumer onDirectoryCreated,
-                         @Nullable String version, @Nullable TranslationLoaderCreator translationLoaderCreator) {
+                         @Nullable String version, @Nullable TranslationLoaderCreator translationLoaderCreator,
+                         @NotNull Map<String, FileLoaderFactory> fileFormats, @Nullable Path packFile, @NotNull Locale defaultLocale,
+                         boolean manifestEnabled, boolean lazyLoading, @Nullable Duration idleTimeout,
+                         long cacheSize, boolean offHeapStorage, boolean componentTemplatesEnabled, boolean legacyFormattingEnabled,
+                         boolean validationEnabled) {
         this.directory = directory;
         this.registrySupplier = registrySupplier;
         this.onDirectoryCreated = onDirectoryCreated;
         this.version = version;
         this.translationLoaderCreator = translationLoaderCreator;
+        this.fileFormats = fileFormats;
+        this.packFile = packFile;
+        this.defaultLocale = defaultLocale;
+        this.manifestEnabled = manifestEnabled;
+        this.lazyLoading = lazyLoading;
+        this.idleTimeout = idleTimeout;
+        this.cacheSize = cacheSize;
+        this.offHeapStorage = offHeapStorage;
+        this.templateRenderer = componentTemplatesEnabled ? new TemplateRenderer(this) : null;
+        this.legacyFormattingEnabled = legacyFormattingEnabled;
+        this.validationEnabled = validationEnabled;
     }
 
     /**
@@ -88,12 +165,18 @@ public class TranslationDirectory {
      * <p>
      * The process when loading is as follows:
      * <ol>
-     *     <li>If the {@link TranslationRegistry} already created, call {@link #unload()} to reset it</li>
      *     <li>If the directory does not exist, create it and call {@link #onDirectoryCreated}</li>
-     *     <li>Get the files in the directory and load them (supports .yml, .yaml, and .properties)</li>
-     *     <li>Update and register loader's messages that {@link TranslationLoader#isLoaded} returns true</li>
+     *     <li>Get the files in the directory and load them using {@link FileLoaderFactory} registered to the extension</li>
+     *     <li>Get the files in the locale directories (e.g. {@code en_US/module.yml}) and load them as shards of the locale</li>
+     *     <li>Update loader's messages that {@link TranslationLoader#isLoaded} returns true</li>
+     *     <li>Merge messages of the same locale and register them</li>
+     *     <li>If messages are already loaded, replace them with the new messages</li>
      * </ol>
      * <p>
+     * Files are loaded in parallel.
+     * If the same key exists in multiple files of the locale, the message in the locale file (e.g. {@code en_US.yml}) is used,
+     * and then the message in the shard that comes first in order of the path.
+     * <p>
      * Requirements for updating messages (adding missing messages):
      * <ul>
      *     <li>Set the {@link TranslationLoaderCreator} by {@link TranslationDirectoryBuilder#setTranslationLoaderCreator(TranslationLoaderCreator)}</li>
@@ -101,37 +184,341 @@ public class TranslationDirectory {
      *     <li>The version is not an empty string</li>
      *     <li>The version is different from {@link TranslationLoader#getVersion} or ends with {@code -SNAPSHOT}</li>
      *     <li>{@link TranslationLoaderCreator#createLoader(Locale)} returns loaded {@link TranslationLoader}</li>
+     *     <li>The loader is not a shard (shards are not updated because it is not known which shard the missing message belongs to)</li>
      * </ul>
+     * <p>
+     * If the manifest is enabled by {@link TranslationDirectoryBuilder#setManifestEnabled(boolean)},
+     * the version and the hash of the source that is merged are recorded in {@code .manifest.properties} in the directory.
+     * When they are the same as the last merge, merging and saving the file are skipped.
+     * <p>
+     * If the pack file is set by {@link TranslationDirectoryBuilder#setPackFile(Path)} and it exists,
+     * files are loaded from the pack instead of the directory. The pack is a zip archive that has the same layout
+     * as the directory (e.g. {@code en.yml} and {@code en_US/module.yml}). It is opened once and kept open
+     * until the next load or {@link #unload()}, and its files are never updated.
+     * <p>
+     * If the lazy loading is enabled by {@link TranslationDirectoryBuilder#setLazyLoading(boolean)},
+     * this method only lists the files, and loading, updating and registering are performed
+     * when the locale is first used for the translation.
+     * <p>
+     * If the cache size is set by {@link TranslationDirectoryBuilder#setCacheSize(long)},
+     * messages of each locale are written to the index file in {@code .cache} in the directory instead of the {@link TranslationRegistry},
+     * and only recently used messages are kept in memory.
+     * <p>
+     * If the off-heap storage is enabled by {@link TranslationDirectoryBuilder#setOffHeapStorage(boolean)},
+     * messages of each locale are stored in the direct buffer instead of the {@link TranslationRegistry},
+     * and recently used messages are cached up to the cache size (1 MiB by default).
+     * <p>
+     * If the component templates are enabled by {@link TranslationDirectoryBuilder#setComponentTemplatesEnabled(boolean)},
+     * messages are also parsed to {@link ComponentTemplate}s when they are registered.
+     * <p>
+     * If the validation is enabled by {@link TranslationDirectoryBuilder#setValidationEnabled(boolean)},
+     * arguments of the merged messages are compared with the messages of the default locale in parallel,
+     * and the result can be got from {@link #getValidationResult()}. If the default locale is not loaded,
+     * the messages are compared with the locale that is used instead of it (see {@link LocaleResolver#getFallbackLocale()}).
+     * <p>
+     * This method can be called from any thread. Calls are serialized, and calls that are waiting for the running load
+     * are collapsed into one load. Messages that have been loaded are used until the new messages are published,
+     * and are kept as they are if loading fails.
      *
      * @throws IOException if I/O error occurred
      */
     public void load() throws IOException {
-        if (registry != null) {
-            unload();
-        }
+        long request = loadRequests.incrementAndGet();
+
+        synchronized (lock) {
+            if (request <= completedLoads) {
+                return; // the load that started after this request has been completed
+            }
 
-        registry = registrySupplier.get();
+            long target = loadRequests.get();
+            loadDirectory();
+            completedLoads = target;
+        }
+    }
 
+    private void loadDirectory() throws IOException {
         createDirectoryIfNotExists();
 
-        try (var list = Files.list(directory)) {
-            list.filter(Files::isRegularFile)
-                    .map(this::loadFile)
-                    .filter(Objects::nonNull)
-                    .filter(TranslationLoader::isLoaded)
-                    .forEach(this::updateAndRegister);
+        // the new generation is built aside, so the current one is kept as it is if loading fails
+        var next = new Generation();
+
+        try {
+            if (packFile != null && Files.isRegularFile(packFile)) {
+                // the central directory of the zip is read once, and entries are read from the opened file
+                next.pack = FileSystems.newFileSystem(packFile, (ClassLoader) null);
+            }
+
+            var targets = listFiles(next);
+
+            if (lazyLoading) {
+                // lazy locales are published with the registry, so lookups during loading use the previous ones
+                var lazyLocales = new ConcurrentHashMap<Locale, LazyLocale>();
+
+                for (var target : targets) {
+                    lazyLocales.computeIfAbsent(target.getKey(), locale -> new LazyLocale(next.pack != null)).files.add(target.getValue());
+                }
+
+                var newRegistry = registrySupplier.get();
+                var resolver = LocaleResolver.create(lazyLocales.keySet(), defaultLocale);
+                replaceGeneration(next, newRegistry, new LazyLocaleTranslator(this, newRegistry.name()), resolver,
+                        lazyLocales, new ConcurrentHashMap<>(), null);
+            } else if (0 < cacheSize || offHeapStorage) {
+                targets.parallelStream().forEach(target -> loadFile(next, target.getKey(), target.getValue()));
+                updateLoaders(next, next.loaders.keySet());
+
+                var messagesByLocale = getMergedMessages(next);
+                var result = validationEnabled ? validate(messagesByLocale) : null;
+                var indexes = new HashMap<Locale, MessageIndex>();
+                indexGeneration++;
+
+                for (var entry : messagesByLocale.entrySet()) {
+                    indexes.put(entry.getKey(), createIndex(next, entry.getKey(), entry.getValue()));
+                }
+
+                // messages are read from the indexes from now on
+                next.loaders.clear();
+                next.loadedLocales.addAll(indexes.keySet());
+
+                var newRegistry = registrySupplier.get();
+                next.cachedTranslator = new CachedTranslator(newRegistry.name(), indexes, defaultLocale, getCacheSize());
+                replaceGeneration(next, newRegistry, next.cachedTranslator, LocaleResolver.create(next.loadedLocales, defaultLocale),
+                        Map.of(), new ConcurrentHashMap<>(), result);
+            } else {
+                targets.parallelStream().forEach(target -> loadFile(next, target.getKey(), target.getValue()));
+                updateLoaders(next, next.loaders.keySet());
+
+                // merging is only needed for the validation, as loaders are registered one by one
+                var result = validationEnabled ? validate(getMergedMessages(next)) : null;
+                var templates = new ConcurrentHashMap<MessageFormat, ComponentTemplate>();
+                var newRegistry = createRegistry(next, templates);
+
+                replaceGeneration(next, newRegistry, newRegistry, LocaleResolver.create(next.loadedLocales, defaultLocale),
+                        Map.of(), templates, result);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (generation != next) {
+                next.closePack(e);
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Reloads the single file in the directory or the locale directory, and registers messages again.
+     * <p>
+     * Other files are not loaded again, so this method can be used to apply changes of a shard.
+     * If the file is not loaded yet, it will be loaded as a new file.
+     * If the file no longer exists, its messages will be removed.
+     *
+     * @param file the file to reload
+     * @throws IOException              if I/O error occurred
+     * @throws IllegalArgumentException if the file is not a translation file in this directory
+     * @throws IllegalStateException    if this directory is not loaded yet or is loaded from the pack or the snapshot
+     */
+    public void reload(@NotNull Path file) throws IOException {
+        var locale = getLocaleOfFile(Objects.requireNonNull(file));
+
+        if (locale == null || getFileLoaderFactory(file) == null) {
+            throw new IllegalArgumentException("Not a translation file: " + file);
+        }
+
+        synchronized (lock) {
+            getTranslator(); // checks if this directory is loaded
+
+            var current = generation;
+
+            if (current.pack != null) {
+                throw new IllegalStateException("The directory is loaded from the pack, use load() to reload it");
+            }
+
+            if (current.snapshotLoaded) {
+                throw new IllegalStateException("The directory is loaded from the snapshot, use load() or loadSnapshot(Path) to reload it");
+            }
+
+            if (current.cachedTranslator != null) {
+                reloadIndex(locale);
+                return;
+            }
+
+            var exists = Files.isRegularFile(file);
+
+            if (lazyLoading) {
+                var lazyLocales = state.lazyLocales;
+                var lazyLocale = lazyLocales.computeIfAbsent(locale, ignored -> new LazyLocale(false));
+                lazyLocale.changes++; // the locale that is being loaded lazily will be loaded again
+
+                if (exists && !lazyLocale.files.contains(file)) {
+                    lazyLocale.files.add(file);
+                    var currentState = state;
+                    publishState(currentState.registry, currentState.source, LocaleResolver.create(lazyLocales.keySet(), defaultLocale));
+                } else if (!exists) {
+                    lazyLocale.files.remove(file);
+                }
+
+                if (!lazyLocale.loaded) {
+                    return;
+                }
+            }
+
+            // loaders of other files are shared with the current generation, and the file is loaded by the new loader
+            var next = current.copy();
+
+            if (exists) {
+                var loader = loadFile(next, locale, file);
+
+                if (loader != null && loader.isLoaded()) {
+                    updateLoaders(next, List.of(file));
+                } else {
+                    next.loaders.remove(file);
+                }
+            } else {
+                next.loaders.remove(file);
+            }
+
+            var templates = new ConcurrentHashMap<MessageFormat, ComponentTemplate>();
+            var newRegistry = createRegistry(next, templates);
+            var currentState = state;
+
+            if (lazyLoading) {
+                replaceGeneration(next, newRegistry, currentState.source, currentState.localeResolver,
+                        currentState.lazyLocales, templates, validationResult);
+            } else {
+                replaceGeneration(next, newRegistry, newRegistry, LocaleResolver.create(next.loadedLocales, defaultLocale),
+                        Map.of(), templates, validationResult);
+            }
         }
+    }
+
+    /**
+     * Unloads locales that are not used for the idle timeout.
+     * <p>
+     * This method does nothing unless both {@link TranslationDirectoryBuilder#setLazyLoading(boolean)}
+     * and {@link TranslationDirectoryBuilder#setIdleTimeout(Duration)} are set.
+     * The default locale is never unloaded.
+     * <p>
+     * Unloaded locales will be loaded again when they are used.
+     * This method should be called periodically (e.g. by the scheduler of the platform).
+     */
+    public void evictIdleLocales() {
+        if (!lazyLoading || idleTimeout == null || state == null) {
+            return;
+        }
+
+        synchronized (lock) {
+            var current = state;
+
+            if (current == null) {
+                return;
+            }
 
-        GlobalTranslator.get().addSource(registry);
+            long now = System.nanoTime();
+            long timeout = idleTimeout.toNanos();
+            boolean evicted = false;
+
+            for (var entry : current.lazyLocales.entrySet()) {
+                var lazyLocale = entry.getValue();
+
+                if (lazyLocale.loaded && !entry.getKey().equals(defaultLocale) && now - lazyLocale.lastAccess > timeout) {
+                    lazyLocale.files.forEach(generation.loaders::remove);
+                    lazyLocale.loaded = false;
+                    evicted = true;
+                }
+            }
+
+            if (evicted) {
+                var templates = new ConcurrentHashMap<MessageFormat, ComponentTemplate>();
+                publishState(createRegistry(generation, templates), current.source, current.localeResolver, current.lazyLocales, templates);
+            }
+        }
     }
 
     /**
      * Unloads messages from the {@link GlobalTranslator}.
      */
     public void unload() {
-        GlobalTranslator.get().removeSource(registry);
-        loadedLocales.clear();
-        registry = null;
+        synchronized (lock) {
+            var current = state;
+
+            if (current != null) {
+                GlobalTranslator.get().removeSource(current.source);
+            }
+
+            state = null;
+            validationResult = null;
+
+            var old = generation;
+            generation = new Generation();
+            old.closePack(null);
+        }
+    }
+
+    /**
+     * Exports the loaded messages to the snapshot file.
+     * <p>
+     * The snapshot contains the merged messages of each locale and the version of this directory,
+     * and can be loaded by {@link #loadSnapshot(Path)} without loading and merging files.
+     * For example, one server or the build process exports the snapshot to the shared storage,
+     * and other servers load it instead of the directory.
+     *
+     * @param file the file to write
+     * @throws IOException           if I/O error occurred
+     * @throws IllegalStateException if this directory is not loaded yet or the lazy loading is enabled
+     */
+    public void exportSnapshot(@NotNull Path file) throws IOException {
+        Objects.requireNonNull(file);
+
+        if (lazyLoading) {
+            throw new IllegalStateException("The snapshot cannot be exported with the lazy loading");
+        }
+
+        var indexes = new HashMap<Locale, MessageIndex>();
+
+        synchronized (lock) {
+            getTranslator(); // checks if this directory is loaded
+
+            var current = generation;
+
+            if (current.cachedTranslator != null) {
+                indexes.putAll(current.cachedTranslator.getIndexes());
+            } else {
+                getMergedMessages(current).forEach((locale, messages) ->
+                        indexes.put(locale, MessageIndex.wrap(MessageIndex.toByteBuffer(messages, false))));
+            }
+        }
+
+        TranslationSnapshot.write(file, getVersion(), indexes);
+    }
+
+    /**
+     * Loads messages from the snapshot file that is exported by {@link #exportSnapshot(Path)}.
+     * <p>
+     * Files in the directory are not loaded, and messages are read from the snapshot (memory-mapped) when they are used.
+     * Used messages are cached up to the cache size set by {@link TranslationDirectoryBuilder#setCacheSize(long)} (1 MiB by default).
+     * The component templates are not created, the validation result is not available,
+     * and messages are translated by {@link #getTranslator()} instead of {@link #getRegistry()}.
+     *
+     * @param file the snapshot file
+     * @throws IOException if I/O error occurred, the file is not a valid snapshot,
+     *                     or the version of the snapshot is different from {@link #getVersion()}
+     */
+    public void loadSnapshot(@NotNull Path file) throws IOException {
+        var snapshot = TranslationSnapshot.read(Objects.requireNonNull(file));
+
+        if (!snapshot.getVersion().equals(getVersion())) {
+            throw new IOException("The version of the snapshot (" + snapshot.getVersion() + ") is different from " + getVersion());
+        }
+
+        synchronized (lock) {
+            var next = new Generation();
+            next.loadedLocales.addAll(snapshot.getIndexes().keySet());
+
+            var newRegistry = registrySupplier.get();
+            next.cachedTranslator = new CachedTranslator(newRegistry.name(), snapshot.getIndexes(), defaultLocale, getCacheSize());
+            next.snapshotLoaded = true;
+            replaceGeneration(next, newRegistry, next.cachedTranslator, LocaleResolver.create(next.loadedLocales, defaultLocale),
+                    Map.of(), new ConcurrentHashMap<>(), null);
+        }
     }
 
     /**
@@ -154,24 +541,321 @@ public class TranslationDirectory {
 
     /**
      * Gets the {@link TranslationRegistry} to register messages
+     * <p>
+     * If the lazy loading is enabled, the registry only contains the locales that have been used.
+     * Use {@link #getTranslator()} to translate messages regardless of how they are stored.
      *
      * @return the {@link TranslationRegistry}
+     * @throws IllegalStateException if this directory is not loaded yet, or messages are not registered to the registry
+     *                               because the cache size or the off-heap storage is set, or they are loaded from the snapshot
      */
     public @NotNull TranslationRegistry getRegistry() {
-        if (registry == null) {
+        var current = state;
+
+        if (current == null) {
             throw new IllegalStateException("The registry is not created (Not loaded yet?)");
         }
 
-        return registry;
+        if (current.source instanceof CachedTranslator) {
+            throw new IllegalStateException("Messages are read from the indexes instead of the registry, use getTranslator()");
+        }
+
+        return current.registry;
+    }
+
+    /**
+     * Gets the {@link Translator} that translates messages of this directory.
+     * <p>
+     * This is the {@link Translator} that is added to the {@link GlobalTranslator}: the {@link TranslationRegistry},
+     * or the {@link Translator} that reads messages from the indexes or the snapshot, or that loads locales lazily.
+     * <p>
+     * The {@link Translator} is replaced when this directory is loaded or reloaded,
+     * so it should not be held for a long time.
+     *
+     * @return the {@link Translator}
+     * @throws IllegalStateException if this directory is not loaded yet
+     */
+    public @NotNull Translator getTranslator() {
+        var current = state;
+
+        if (current == null) {
+            throw new IllegalStateException("The translator is not created (Not loaded yet?)");
+        }
+
+        return current.source;
+    }
+
+    /**
+     * Gets the {@link LocaleResolver} to resolve the {@link Locale} to one of the loaded {@link Locale}s.
+     * <p>
+     * The {@link LocaleResolver} is created every time this directory is loaded,
+     * so it should not be held for a long time.
+     *
+     * @return the {@link LocaleResolver}
+     */
+    public @NotNull LocaleResolver getLocaleResolver() {
+        var current = state;
+
+        if (current == null) {
+            throw new IllegalStateException("The locale resolver is not created (Not loaded yet?)");
+        }
+
+        return current.localeResolver;
+    }
+
+    /**
+     * Gets the {@link ComponentRenderer} that renders messages of this directory using {@link ComponentTemplate}s.
+     * <p>
+     * Unlike {@link GlobalTranslator#renderer()}, this renderer does not parse the message on every rendering,
+     * and legacy formatting codes in messages (e.g. {@code &a}) are converted to styles
+     * if {@link TranslationDirectoryBuilder#setLegacyFormattingEnabled(boolean)} is set.
+     * Other translatable components are rendered by {@link GlobalTranslator}.
+     * <p>
+     * Templates are parsed again when this directory is loaded or reloaded.
+     *
+     * @return the {@link ComponentRenderer} that uses {@link ComponentTemplate}s
+     * @throws IllegalStateException if the component templates are not enabled
+     * @see TranslationDirectoryBuilder#setComponentTemplatesEnabled(boolean)
+     */
+    public @NotNull ComponentRenderer<Locale> getTemplateRenderer() {
+        if (templateRenderer == null) {
+            throw new IllegalStateException("The component templates are not enabled");
+        }
+
+        return templateRenderer;
+    }
+
+    /**
+     * Gets the result of validating messages when this directory is loaded.
+     * <p>
+     * The result is not updated by {@link #reload(Path)}.
+     *
+     * @return the {@link ValidationResult}
+     * @throws IllegalStateException if the validation is not enabled or this directory is not loaded yet
+     * @see TranslationDirectoryBuilder#setValidationEnabled(boolean)
+     */
+    public @NotNull ValidationResult getValidationResult() {
+        if (!validationEnabled) {
+            throw new IllegalStateException("The validation is not enabled");
+        }
+
+        var result = validationResult;
+
+        if (result == null) {
+            throw new IllegalStateException("The validation result is not created (Not loaded yet?)");
+        }
+
+        return result;
     }
 
     /**
      * Gets the set of the loaded {@link Locale}s.
+     * <p>
+     * If the lazy loading is enabled, this set only contains the {@link Locale}s that have been used.
+     * <p>
+     * The returned set is an immutable snapshot and does not reflect later changes.
      *
      * @return the set of the loaded {@link Locale}s
      */
-    public Set<Locale> getLoadedLocales() {
-        return loadedLocales;
+    public @NotNull @Unmodifiable Set<Locale> getLoadedLocales() {
+        var current = state;
+        return current != null ? current.loadedLocales : Set.of();
+    }
+
+    /**
+     * Translates the key with the lazy loading.
+     * <p>
+     * The locale, the language-only locale and the default locale that {@link TranslationRegistry} may fall back to
+     * are loaded first, and then the key is translated by the registry of the same state.
+     *
+     * @param key    the key to translate
+     * @param locale the {@link Locale}
+     * @return the {@link MessageFormat}, or {@code null} if not found
+     */
+    @Nullable MessageFormat translateLazily(@NotNull String key, @NotNull Locale locale) {
+        var language = !locale.getCountry().isEmpty() || !locale.getVariant().isEmpty() ? LocaleParser.parse(locale.getLanguage()) : null;
+
+        while (true) {
+            var current = state;
+
+            if (current == null) {
+                return null;
+            }
+
+            if (ensureLoaded(current, locale) && (language == null || ensureLoaded(current, language)) &&
+                    ensureLoaded(current, defaultLocale)) {
+                var result = current.registry.translate(key, locale);
+
+                // locales may be marked as loaded by the newer registry, so the result of the old one is not used
+                if (result != null || hasSameRegistry(state, current)) {
+                    return result;
+                }
+            }
+
+            // the state is replaced while loading the locale, so try again with the new state
+        }
+    }
+
+    /**
+     * Loads and registers the messages of the {@link Locale} if it is not loaded yet.
+     * <p>
+     * Files are read while holding the lock of the locale, so only threads that use the same locale wait for it.
+     * The directory-wide lock is held only to register the loaded messages, and they are discarded
+     * if the registry or the files of the locale have been replaced during loading.
+     *
+     * @param current the current state
+     * @param locale  the {@link Locale} to load
+     * @return {@code true} if the locale is loaded, does not exist or could not be loaded, {@code false} if the state is replaced
+     */
+    private boolean ensureLoaded(@NotNull State current, @NotNull Locale locale) {
+        var lazyLocale = current.lazyLocales.get(locale);
+
+        if (lazyLocale == null) {
+            return true;
+        }
+
+        if (idleTimeout != null) {
+            long now = System.nanoTime();
+
+            // avoid writing to the shared field on every lookup
+            if (now - lazyLocale.lastAccess > ACCESS_TIME_RESOLUTION) {
+                lazyLocale.lastAccess = now;
+            }
+        }
+
+        if (lazyLocale.loaded) {
+            return true;
+        }
+
+        synchronized (lazyLocale) {
+            if (lazyLocale.loaded) {
+                return true;
+            }
+
+            if (!hasSameRegistry(state, current)) {
+                return false;
+            }
+
+            if (System.nanoTime() - lazyLocale.failedAt < RETRY_INTERVAL) {
+                return true; // failed recently, so the registry falls back to other locales
+            }
+
+            long changes = lazyLocale.changes;
+            // sort by path so that the locale file (en.yml) comes before its shards (en/...)
+            var files = lazyLocale.files.stream().sorted().collect(Collectors.toList());
+            // files are loaded aside, and moved to the current generation when they are registered
+            var loaded = new Generation();
+
+            try {
+                files.parallelStream().forEach(file -> loadFile(loaded, locale, file));
+
+                if (!lazyLocale.packed) {
+                    updateLoaders(loaded, files);
+                }
+            } catch (IOException | RuntimeException e) {
+                // this is called from the translator, so the exception is not thrown to the renderer
+                lazyLocale.failedAt = System.nanoTime();
+                LOGGER.log(System.Logger.Level.WARNING, "Could not load the locale (" + locale + ")", e);
+                return true;
+            } finally {
+                lazyLocale.lastAccess = System.nanoTime();
+            }
+
+            var localeLoaders = getLoadedLoaders(loaded, files);
+
+            synchronized (lock) {
+                var latest = state;
+
+                if (!hasSameRegistry(latest, current) || lazyLocale.changes != changes) {
+                    return false; // reloaded or evicted while loading, so load the locale again with the new state
+                }
+
+                generation.loaders.putAll(loaded.loaders);
+
+                if (!localeLoaders.isEmpty()) {
+                    registerLocale(latest.registry, latest.templates, locale, localeLoaders);
+                    generation.loadedLocales.add(locale);
+                    publishState(latest.registry, latest.source, latest.localeResolver);
+                }
+
+                lazyLocale.loaded = true;
+            }
+
+            // the new state has the same registry, so the messages loaded now can be used
+            return true;
+        }
+    }
+
+    private static boolean hasSameRegistry(@Nullable State latest, @NotNull State current) {
+        // loading other locales publishes new states with the same registry
+        return latest != null && latest.registry == current.registry;
+    }
+
+    @Nullable Translator getSource() {
+        var current = state;
+        return current != null ? current.source : null;
+    }
+
+    @Nullable ComponentTemplate getTemplate(@NotNull MessageFormat format) {
+        var current = state;
+
+        if (current == null) {
+            return null;
+        }
+
+        var template = current.templates.computeIfAbsent(format, f -> parseTemplate(f.toPattern()));
+        return template != TemplateRenderer.UNSUPPORTED ? template : null;
+    }
+
+    /**
+     * Replaces the current generation with the new one, and publishes the new state.
+     * <p>
+     * This method must be called while holding the lock.
+     */
+    private void replaceGeneration(@NotNull Generation next, @NotNull TranslationRegistry newRegistry, @NotNull Translator newSource,
+                                   @NotNull LocaleResolver newResolver, @NotNull Map<Locale, LazyLocale> lazyLocales,
+                                   @NotNull Map<MessageFormat, ComponentTemplate> templates, @Nullable ValidationResult result) {
+        var old = generation;
+
+        generation = next;
+        validationResult = result;
+        publishState(newRegistry, newSource, newResolver, lazyLocales, templates);
+
+        if (old.pack != next.pack) {
+            old.closePack(null);
+        }
+
+        deleteStaleIndexFiles();
+    }
+
+    /**
+     * Publishes the new state with the lazy locales and the templates of the current state,
+     * and replaces the source of the {@link GlobalTranslator} if it is changed.
+     * <p>
+     * This method must be called while holding the lock.
+     */
+    private void publishState(@NotNull TranslationRegistry newRegistry, @NotNull Translator newSource,
+                              @NotNull LocaleResolver newResolver) {
+        var current = state;
+        publishState(newRegistry, newSource, newResolver,
+                current != null ? current.lazyLocales : Map.of(), current != null ? current.templates : new ConcurrentHashMap<>());
+    }
+
+    private void publishState(@NotNull TranslationRegistry newRegistry, @NotNull Translator newSource,
+                              @NotNull LocaleResolver newResolver, @NotNull Map<Locale, LazyLocale> lazyLocales,
+                              @NotNull Map<MessageFormat, ComponentTemplate> templates) {
+        var oldState = state;
+        state = new State(newRegistry, newSource, newResolver, Set.copyOf(generation.loadedLocales), lazyLocales, templates);
+
+        if (oldState == null) {
+            GlobalTranslator.get().addSource(newSource);
+        } else if (!oldState.source.equals(newSource)) {
+            // add the new source first so that there is no moment without the messages
+            GlobalTranslator.get().addSource(newSource);
+            GlobalTranslator.get().removeSource(oldState.source);
+        }
+        // the sources of GlobalTranslator are a set, so an equal source (e.g. the registry that has the same messages)
+        // cannot be added, and the registered one is kept
     }
 
     private void createDirectoryIfNotExists() throws IOException {
@@ -184,48 +868,122 @@ public class TranslationDirectory {
         }
     }
 
-    private @Nullable TranslationLoader loadFile(@NotNull Path file) {
-        var locale = LocaleParser.fromFileName(file);
+    private @NotNull List<Map.Entry<Locale, Path>> listFiles(@NotNull Generation target) throws IOException {
+        var targets = new ArrayList<Map.Entry<Locale, Path>>();
+        var root = target.pack != null ? target.pack.getPath("/") : directory;
+
+        try (var list = Files.list(root)) {
+            for (var path : (Iterable<Path>) list::iterator) {
+                if (String.valueOf(path.getFileName()).startsWith(".")) {
+                    continue; // the manifest and the cache directory
+                }
+
+                if (Files.isRegularFile(path)) {
+                    var locale = LocaleParser.fromFileName(path);
+
+                    if (locale != null && getFileLoaderFactory(path) != null) {
+                        targets.add(Map.entry(locale, path));
+                    }
+                } else if (Files.isDirectory(path)) {
+                    collectShards(path, targets);
+                }
+            }
+        }
+
+        return targets;
+    }
+
+    private void collectShards(@NotNull Path localeDirectory, @NotNull List<Map.Entry<Locale, Path>> targets) throws IOException {
+        var locale = LocaleParser.parse(String.valueOf(localeDirectory.getFileName()));
 
         if (locale == null) {
+            return;
+        }
+
+        try (var list = Files.list(localeDirectory)) {
+            list.filter(Files::isRegularFile)
+                    .filter(shard -> getFileLoaderFactory(shard) != null)
+                    .forEach(shard -> targets.add(Map.entry(locale, shard)));
+        }
+    }
+
+    private @Nullable Locale getLocaleOfFile(@NotNull Path file) {
+        var parent = file.getParent();
+
+        if (directory.equals(parent)) {
+            return LocaleParser.fromFileName(file);
+        } else if (parent != null && directory.equals(parent.getParent())) {
+            return LocaleParser.parse(String.valueOf(parent.getFileName()));
+        } else {
             return null;
         }
+    }
+
+    private boolean isShard(@NotNull Path file) {
+        return !directory.equals(file.getParent());
+    }
 
-        TranslationLoader loader;
+    private @Nullable TranslationLoader loadFile(@NotNull Generation target, @NotNull Locale locale, @NotNull Path file) {
+        var factory = getFileLoaderFactory(file);
 
-        switch (ExtensionUtil.getExtension(file)) {
-            case "yml":
-            case "yaml":
-                loader = FileConfigurationLoader.create(locale, YamlConfiguration.create(file));
-                break;
-            case "properties":
-                loader = FileConfigurationLoader.create(locale, PropertiesConfiguration.create(file));
-                break;
-            default:
-                return null;
+        if (factory == null) {
+            return null;
         }
 
+        var loader = factory.create(locale, file);
+
         try {
             loader.load();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
 
+        target.loaders.put(file, loader);
         return loader;
     }
 
-    private void updateAndRegister(@NotNull TranslationLoader loader) {
+    private @Nullable FileLoaderFactory getFileLoaderFactory(@NotNull Path file) {
+        var fileName = String.valueOf(file.getFileName());
+        var firstDot = fileName.indexOf('.');
+
+        if (firstDot == -1) {
+            return null;
+        }
+
+        var factory = fileFormats.get(fileName.substring(firstDot + 1));
+        return factory != null ? factory : fileFormats.get(ExtensionUtil.getExtension(fileName));
+    }
+
+    private void update(@NotNull Path file, @NotNull TranslationLoader loader, @Nullable DirectoryManifest manifest) {
         if (translationLoaderCreator != null && version != null && !version.isEmpty() &&
                 (version.endsWith("-SNAPSHOT") || !loader.getVersion().equals(version))) {
+            var fileName = String.valueOf(file.getFileName());
+            String sourceHash;
             TranslationLoader other;
 
             try {
+                sourceHash = manifest != null ? translationLoaderCreator.getFingerprint(loader.getLocale()) : null;
+
+                if (manifest != null && manifest.isUpToDate(fileName, loader.getVersion(), sourceHash)) {
+                    return;
+                }
+
                 other = translationLoaderCreator.createLoader(loader.getLocale());
             } catch (IOException e) {
                 throw new RuntimeException("Could not get the merger (" + loader.getLocale() + ")", e);
             }
 
             if (other != null && other.isLoaded()) {
+                if (manifest != null) {
+                    if (sourceHash == null) {
+                        sourceHash = DirectoryManifest.hash(other);
+                    }
+
+                    if (manifest.isUpToDate(fileName, loader.getVersion(), sourceHash)) {
+                        return;
+                    }
+                }
+
                 loader.merge(other);
                 loader.setVersion(other.getVersion());
 
@@ -234,10 +992,297 @@ public class TranslationDirectory {
                 } catch (IOException e) {
                     throw new RuntimeException("Could not save the loader", e);
                 }
+
+                if (manifest != null) {
+                    manifest.record(fileName, loader.getVersion(), sourceHash);
+                }
             }
         }
+    }
+
+    private void updateLoaders(@NotNull Generation target, @NotNull Collection<Path> files) throws IOException {
+        if (target.pack != null) {
+            return; // files in the pack are read-only
+        }
+
+        synchronized (updateLock) {
+            var manifest = manifestEnabled ? DirectoryManifest.load(directory) : null;
 
-        loader.register(registry);
-        loadedLocales.add(loader.getLocale());
+            for (var file : files) {
+                var loader = target.loaders.get(file);
+
+                if (loader != null && loader.isLoaded() && !isShard(file)) {
+                    update(file, loader, manifest);
+                }
+            }
+
+            if (manifest != null) {
+                manifest.saveIfModified();
+            }
+        }
+    }
+
+    private @NotNull List<TranslationLoader> getLoadedLoaders(@NotNull Generation target, @NotNull List<Path> files) {
+        var result = new ArrayList<TranslationLoader>(files.size());
+
+        for (var file : files) {
+            var loader = target.loaders.get(file);
+
+            if (loader != null && loader.isLoaded()) {
+                result.add(loader);
+            }
+        }
+
+        return result;
+    }
+
+    private @NotNull Map<Locale, List<TranslationLoader>> groupLoadersByLocale(@NotNull Generation target) {
+        var loadersByLocale = new HashMap<Locale, List<TranslationLoader>>();
+
+        // loaders is sorted by path, and the locale file (en.yml) comes before its shards (en/...)
+        for (var loader : target.loaders.values()) {
+            if (loader.isLoaded()) {
+                loadersByLocale.computeIfAbsent(loader.getLocale(), locale -> new ArrayList<>()).add(loader);
+            }
+        }
+
+        return loadersByLocale;
+    }
+
+    private @NotNull Map<Locale, Map<String, String>> getMergedMessages(@NotNull Generation target) {
+        var result = new HashMap<Locale, Map<String, String>>();
+
+        for (var entry : groupLoadersByLocale(target).entrySet()) {
+            result.put(entry.getKey(), mergeMessages(entry.getValue()));
+        }
+
+        return result;
+    }
+
+    private @NotNull ValidationResult validate(@NotNull Map<Locale, Map<String, String>> messagesByLocale) {
+        // if the default locale is not loaded (e.g. en_US when only en exists), compare with the locale that is used instead
+        var reference = LocaleResolver.create(messagesByLocale.keySet(), defaultLocale).getFallbackLocale();
+        return MessageValidator.validate(reference, messagesByLocale);
+    }
+
+    private @NotNull TranslationRegistry createRegistry(@NotNull Generation target, @NotNull Map<MessageFormat, ComponentTemplate> templates) {
+        var newRegistry = registrySupplier.get();
+        var loadersByLocale = groupLoadersByLocale(target);
+
+        target.loadedLocales.retainAll(loadersByLocale.keySet());
+
+        for (var entry : loadersByLocale.entrySet()) {
+            registerLocale(newRegistry, templates, entry.getKey(), entry.getValue());
+            target.loadedLocales.add(entry.getKey());
+        }
+
+        return newRegistry;
+    }
+
+    private void registerLocale(@NotNull TranslationRegistry registry, @NotNull Map<MessageFormat, ComponentTemplate> templateMap,
+                                @NotNull Locale locale, @NotNull List<TranslationLoader> localeLoaders) {
+        if (templateRenderer == null && localeLoaders.size() == 1) {
+            localeLoaders.get(0).register(registry);
+            return;
+        }
+
+        var formatMap = new HashMap<String, MessageFormat>();
+
+        for (var message : mergeMessages(localeLoaders).entrySet()) {
+            var format = LocalizedFormats.createMessageFormat(message.getValue(), locale);
+            formatMap.put(message.getKey(), format);
+
+            if (templateRenderer != null) {
+                templateMap.put(format, parseTemplate(message.getValue()));
+            }
+        }
+
+        registry.registerAll(locale, formatMap);
+    }
+
+    private @NotNull ComponentTemplate parseTemplate(@NotNull String message) {
+        try {
+            return ComponentTemplate.parse(message, legacyFormattingEnabled);
+        } catch (IllegalArgumentException e) {
+            // the message uses the format type (e.g. {0,number}), so it is rendered by MessageFormat
+            return TemplateRenderer.UNSUPPORTED;
+        }
+    }
+
+    private static @NotNull Map<String, String> mergeMessages(@NotNull List<TranslationLoader> localeLoaders) {
+        if (localeLoaders.size() == 1) {
+            return localeLoaders.get(0).getMessageMap();
+        }
+
+        var messageMap = new HashMap<String, String>();
+
+        // the message of the first loader takes precedence
+        for (var loader : localeLoaders) {
+            loader.getMessageMap().forEach(messageMap::putIfAbsent);
+        }
+
+        return messageMap;
+    }
+
+    private long getCacheSize() {
+        // the off-heap storage and the snapshot use the default size, so that messages are not parsed on every lookup
+        return 0 < cacheSize ? cacheSize : DEFAULT_CACHE_SIZE;
+    }
+
+    private @NotNull MessageIndex createIndex(@NotNull Generation target, @NotNull Locale locale,
+                                              @NotNull Map<String, String> messages) throws IOException {
+        if (offHeapStorage) {
+            return MessageIndex.wrap(MessageIndex.toByteBuffer(messages, true));
+        }
+
+        // the file of the previous generation is still mapped and used until the new index is published,
+        // so the new index is written to another file instead of replacing it
+        var file = directory.resolve(CACHE_DIRECTORY_NAME).resolve(locale + "." + indexGeneration + INDEX_FILE_EXTENSION);
+        MessageIndex.write(messages, file);
+        target.indexFiles.put(locale, file);
+        return MessageIndex.open(file);
+    }
+
+    private void deleteStaleIndexFiles() {
+        var cacheDirectory = directory.resolve(CACHE_DIRECTORY_NAME);
+
+        if (offHeapStorage || !Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        try (var list = Files.list(cacheDirectory)) {
+            for (var file : (Iterable<Path>) list::iterator) {
+                if (String.valueOf(file.getFileName()).endsWith(INDEX_FILE_EXTENSION) && !generation.indexFiles.containsValue(file)) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException ignored) {
+                        // the file may still be mapped (e.g. on Windows), so it will be deleted on the next load
+                    }
+                }
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void reloadIndex(@NotNull Locale locale) throws IOException {
+        var next = generation.copy();
+        var files = listFiles(next).stream()
+                .filter(target -> target.getKey().equals(locale))
+                .map(Map.Entry::getValue)
+                .sorted()
+                .collect(Collectors.toList());
+
+        files.parallelStream().forEach(file -> loadFile(next, locale, file));
+        updateLoaders(next, files);
+
+        var localeLoaders = getLoadedLoaders(next, files);
+        var cachedTranslator = Objects.requireNonNull(next.cachedTranslator);
+        var indexes = new HashMap<>(cachedTranslator.getIndexes());
+
+        if (localeLoaders.isEmpty()) {
+            indexes.remove(locale);
+            next.indexFiles.remove(locale);
+            next.loadedLocales.remove(locale);
+        } else {
+            indexGeneration++;
+            indexes.put(locale, createIndex(next, locale, mergeMessages(localeLoaders)));
+            next.loadedLocales.add(locale);
+        }
+
+        next.loaders.clear();
+
+        // the translator is shared with the current state, so it is modified after everything that may fail
+        cachedTranslator.replaceIndexes(indexes);
+
+        var current = state;
+        replaceGeneration(next, current.registry, current.source, LocaleResolver.create(next.loadedLocales, defaultLocale),
+                Map.of(), current.templates, validationResult);
+    }
+
+    private static final class State {
+
+        private final TranslationRegistry registry;
+        private final Translator source;
+        private final LocaleResolver localeResolver;
+        private final Set<Locale> loadedLocales;
+        private final Map<Locale, LazyLocale> lazyLocales; // modified while holding the lock
+        private final Map<MessageFormat, ComponentTemplate> templates;
+
+        private State(@NotNull TranslationRegistry registry, @NotNull Translator source,
+                      @NotNull LocaleResolver localeResolver, @NotNull Set<Locale> loadedLocales,
+                      @NotNull Map<Locale, LazyLocale> lazyLocales, @NotNull Map<MessageFormat, ComponentTemplate> templates) {
+            this.registry = registry;
+            this.source = source;
+            this.localeResolver = localeResolver;
+            this.loadedLocales = loadedLocales;
+            this.lazyLocales = lazyLocales;
+            this.templates = templates;
+        }
+    }
+
+    /**
+     * The working data that the published state was built from.
+     * <p>
+     * {@link #load()} builds a new generation and replaces the current one only after loading is completed,
+     * so the current generation and its state are kept as they are if loading fails.
+     * All fields are guarded by the lock of {@link TranslationDirectory}.
+     */
+    private static final class Generation {
+
+        private final Map<Path, TranslationLoader> loaders = new ConcurrentSkipListMap<>();
+        private final Set<Locale> loadedLocales = new HashSet<>();
+        private final Map<Locale, Path> indexFiles = new HashMap<>();
+        private @Nullable FileSystem pack;
+        private @Nullable CachedTranslator cachedTranslator;
+        private boolean snapshotLoaded;
+
+        private @NotNull Generation copy() {
+            var copy = new Generation();
+            copy.loaders.putAll(loaders);
+            copy.loadedLocales.addAll(loadedLocales);
+            copy.indexFiles.putAll(indexFiles);
+            copy.pack = pack;
+            copy.cachedTranslator = cachedTranslator;
+            copy.snapshotLoaded = snapshotLoaded;
+            return copy;
+        }
+
+        private void closePack(@Nullable Exception cause) {
+            if (pack == null) {
+                return;
+            }
+
+            try {
+                pack.close();
+            } catch (IOException e) {
+                var exception = new RuntimeException("Could not close the pack", e);
+
+                if (cause == null) {
+                    throw exception;
+                }
+
+                cause.addSuppressed(exception);
+            } finally {
+                pack = null;
+            }
+        }
+    }
+
+    /**
+     * The files of the locale that is loaded lazily.
+     * <p>
+     * The locale is loaded while holding the lock of this object (see {@link #ensureLoaded(State, Locale)}).
+     */
+    private static final class LazyLocale {
+        private final List<Path> files = new CopyOnWriteArrayList<>();
+        private final boolean packed;
+        private volatile boolean loaded;
+        private volatile long changes; // modified while holding the lock of TranslationDirectory
+        private volatile long lastAccess = System.nanoTime();
+        private volatile long failedAt = System.nanoTime() - RETRY_INTERVAL;
+
+        private LazyLocale(boolean packed) {
+            this.packed = packed;
+        }
     }
 }
@@ -1,5 +1,10 @@
 package com.github.siroshun09.translationloader.directory;
 
+import com.github.siroshun09.configapi.api.file.PropertiesConfiguration;
+import com.github.siroshun09.configapi.yaml.YamlConfiguration;
+import com.github.siroshun09.translationloader.FileConfigurationLoader;
+import com.github.siroshun09.translationloader.JsonFileLoader;
+import com.github.siroshun09.translationloader.util.ComponentTemplate;
 import com.github.siroshun09.translationloader.util.PathConsumer;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.translation.TranslationRegistry;
@@ -7,7 +12,10 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -25,8 +33,24 @@ public final class TranslationDirectoryBuilder {
     private PathConsumer onDirectoryCreated;
     private String version;
     private TranslationLoaderCreator translationLoaderCreator;
+    private boolean manifestEnabled;
+    private boolean lazyLoading;
+    private Duration idleTimeout;
+    private long cacheSize;
+    private boolean offHeapStorage;
+    private boolean componentTemplatesEnabled;
+    private boolean legacyFormattingEnabled;
+    private boolean validationEnabled;
+    private Path packFile;
+
+    private final Map<String, FileLoaderFactory> fileFormats = new HashMap<>();
 
     TranslationDirectoryBuilder() {
+        addFileFormat("yml", (locale, file) -> FileConfigurationLoader.create(locale, YamlConfiguration.create(file)));
+        addFileFormat("yaml", (locale, file) -> FileConfigurationLoader.create(locale, YamlConfiguration.create(file)));
+        addFileFormat("properties", (locale, file) -> FileConfigurationLoader.create(locale, PropertiesConfiguration.create(file)));
+        addFileFormat("json", JsonFileLoader::create);
+        addFileFormat("json.gz", JsonFileLoader::create);
     }
 
     /**
@@ -43,6 +67,9 @@ public final class TranslationDirectoryBuilder {
 
     /**
      * Sets the {@link Supplier} of the {@link TranslationRegistry} to create translation registry.
+     * <p>
+     * The default locale of the supplied registries cannot be got from them,
+     * so {@link #setDefaultLocale(Locale)} must also be called, and the locale is set to the supplied registries.
      *
      * @param registrySupplier the {@link Supplier} of the {@link TranslationRegistry}
      * @return this builder
@@ -67,6 +94,10 @@ public final class TranslationDirectoryBuilder {
 
     /**
      * Sets the {@link Locale} to set {@link TranslationRegistry#defaultLocale(Locale)}.
+     * <p>
+     * This locale is also used as the default locale of {@link LocaleResolver}.
+     * If it is not set, {@link Locale#US} is used, the same as the global default of Adventure.
+     * This must be set if {@link #setRegistrySupplier(Supplier)} is used.
      *
      * @param locale the default locale that used in {@link TranslationRegistry#defaultLocale(Locale)}
      * @return this builder
@@ -116,32 +147,262 @@ public final class TranslationDirectoryBuilder {
         return this;
     }
 
+    /**
+     * Sets whether to record merges in the manifest file of the directory.
+     * <p>
+     * If enabled, {@link TranslationDirectory} skips merging and saving the file when the source of
+     * {@link TranslationLoaderCreator} is not changed since the last merge,
+     * even if the version ends with {@code -SNAPSHOT}.
+     *
+     * @param manifestEnabled {@code true} to enable the manifest, {@code false} otherwise
+     * @return this builder
+     * @see TranslationLoaderCreator#getFingerprint(Locale)
+     */
+    @Contract("_ -> this")
+    public @NotNull TranslationDirectoryBuilder setManifestEnabled(boolean manifestEnabled) {
+        this.manifestEnabled = manifestEnabled;
+        return this;
+    }
+
+    /**
+     * Sets whether to load locales when they are first used.
+     * <p>
+     * If enabled, {@link TranslationDirectory#load()} only lists the files in the directory,
+     * and the files of the locale are loaded and registered on the first translation of the locale.
+     * This reduces the startup time and the memory usage when most of locales are rarely used.
+     * <p>
+     * If the files of the locale could not be loaded, the error is logged and the translation falls back to other locales.
+     * Loading the locale is retried after 10 seconds or on the next {@link TranslationDirectory#load()}.
+     *
+     * @param lazyLoading {@code true} to enable the lazy loading, {@code false} otherwise
+     * @return this builder
+     */
+    @Contract("_ -> this")
+    public @NotNull TranslationDirectoryBuilder setLazyLoading(boolean lazyLoading) {
+        this.lazyLoading = lazyLoading;
+        return this;
+    }
+
+    /**
+     * Sets the time to keep the locale that is not used when the lazy loading is enabled.
+     *
+     * @param idleTimeout the time to keep the unused locale
+     * @return this builder
+     * @see TranslationDirectory#evictIdleLocales()
+     */
+    @Contract("_ -> this")
+    public @NotNull TranslationDirectoryBuilder setIdleTimeout(@NotNull Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Sets the maximum size of messages to keep in memory, in bytes.
+     * <p>
+     * If set, {@link TranslationDirectory} writes loaded messages of each locale to the index file in the directory,
+     * and reads messages from the index file (memory-mapped) when they are used.
+     * Recently used messages are cached up to this size, and the least recently used ones are evicted.
+     * <p>
+     * The size of the cached message is estimated, so the actual memory usage may differ.
+     * Messages are not registered to {@link TranslationDirectory#getRegistry()}, use {@link TranslationDirectory#getTranslator()} instead.
+     * This cannot be used with the lazy loading.
+     *
+     * @param cacheSize the maximum size of cached messages in bytes, or {@code 0} to keep all messages in the {@link TranslationRegistry}
+     *                  (or to use the default size of 1 MiB with the off-heap storage or the snapshot)
+     * @return this builder
+     */
+    @Contract("_ -> this")
+    public @NotNull TranslationDirectoryBuilder setCacheSize(long cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize cannot be negative");
+        }
+
+        this.cacheSize = cacheSize;
+        return this;
+    }
+
+    /**
+     * Sets whether to store loaded messages outside the Java heap.
+     * <p>
+     * If enabled, {@link TranslationDirectory} stores merged messages of each locale as UTF-8 in the direct buffer
+     * instead of the {@link TranslationRegistry}, and decodes the message when it is used.
+     * This keeps many messages from increasing the heap that the garbage collector scans.
+     * <p>
+     * Recently used messages are kept parsed in the cache of 1 MiB, and its size can be changed by {@link #setCacheSize(long)}.
+     * Messages are not registered to {@link TranslationDirectory#getRegistry()}, use {@link TranslationDirectory#getTranslator()} instead.
+     * This cannot be used with the lazy loading.
+     *
+     * @param offHeapStorage {@code true} to store messages outside the Java heap
+     * @return this builder
+     */
+    @Contract("_ -> this")
+    public @NotNull TranslationDirectoryBuilder setOffHeapStorage(boolean offHeapStorage) {
+        this.offHeapStorage = offHeapStorage;
+        return this;
+    }
+
+    /**
+     * Sets whether messages are parsed to {@link ComponentTemplate}s when they are loaded.
+     * <p>
+     * If enabled, {@link TranslationDirectory#getTemplateRenderer()} can be used to render messages
+     * without parsing them on every rendering. This cannot be used with the cache size or the off-heap storage.
+     *
+     * @param componentTemplatesEnabled {@code true} to parse messages to {@link ComponentTemplate}s
+     * @return this builder
+     */
+    @Contract("_ -> this")
+    public @NotNull TranslationDirectoryBuilder setComponentTemplatesEnabled(boolean componentTemplatesEnabled) {
+        this.componentTemplatesEnabled = componentTemplatesEnabled;
+        return this;
+    }
+
+    /**
+     * Sets whether legacy formatting codes in messages (e.g. {@code &a}) are converted to styles by the component templates.
+     * <p>
+     * This is disabled by default, so {@code &} in messages is rendered as it is (e.g. {@code R&D}).
+     * This requires {@link #setComponentTemplatesEnabled(boolean)}.
+     *
+     * @param legacyFormattingEnabled {@code true} to parse legacy formatting codes
+     * @return this builder
+     * @see ComponentTemplate#parse(String, boolean)
+     */
+    @Contract("_ -> this")
+    public @NotNull TranslationDirectoryBuilder setLegacyFormattingEnabled(boolean legacyFormattingEnabled) {
+        this.legacyFormattingEnabled = legacyFormattingEnabled;
+        return this;
+    }
+
+    /**
+     * Sets whether arguments of messages are validated when {@link TranslationDirectory#load()} is called.
+     * <p>
+     * If enabled, arguments of messages in each locale (e.g. {@code {1}}) are compared with the messages of the default locale,
+     * and the mismatches can be got from {@link TranslationDirectory#getValidationResult()}.
+     * This cannot be used with the lazy loading.
+     *
+     * @param validationEnabled {@code true} to validate messages
+     * @return this builder
+     */
+    @Contract("_ -> this")
+    public @NotNull TranslationDirectoryBuilder setValidationEnabled(boolean validationEnabled) {
+        this.validationEnabled = validationEnabled;
+        return this;
+    }
+
+    /**
+     * Sets the pack file to load instead of files in the directory.
+     * <p>
+     * The pack is a zip archive that has the same layout as the directory (e.g. {@code en.yml} and {@code en_US/module.yml}).
+     * If the pack exists when {@link TranslationDirectory#load()} is called, the files in the pack are loaded
+     * and the files in the directory are ignored. Otherwise, the files in the directory are loaded.
+     * <p>
+     * Files in the pack are not updated even if the {@link TranslationLoaderCreator} is set.
+     *
+     * @param packFile the path of the pack file
+     * @return this builder
+     */
+    @Contract("_ -> this")
+    public @NotNull TranslationDirectoryBuilder setPackFile(@NotNull Path packFile) {
+        this.packFile = Objects.requireNonNull(packFile);
+        return this;
+    }
+
+    /**
+     * Adds the {@link FileLoaderFactory} for the file extension.
+     * <p>
+     * The extension is compared with the part of the file name after the first dot (e.g. {@code json.gz} of {@code en.json.gz}),
+     * and then with the part after the last dot (e.g. {@code gz}).
+     * <p>
+     * By default, {@code yml}, {@code yaml}, {@code properties}, {@code json} and {@code json.gz} are registered.
+     * If the factory for the extension is already registered, it will be replaced.
+     *
+     * @param extension the file extension without the leading dot
+     * @param factory   the {@link FileLoaderFactory} to create {@link com.github.siroshun09.translationloader.TranslationLoader}
+     * @return this builder
+     */
+    @Contract("_, _ -> this")
+    public @NotNull TranslationDirectoryBuilder addFileFormat(@NotNull String extension, @NotNull FileLoaderFactory factory) {
+        fileFormats.put(Objects.requireNonNull(extension), Objects.requireNonNull(factory));
+        return this;
+    }
+
+    /**
+     * Removes the {@link FileLoaderFactory} for the file extension.
+     *
+     * @param extension the file extension without the leading dot
+     * @return this builder
+     */
+    @Contract("_ -> this")
+    public @NotNull TranslationDirectoryBuilder removeFileFormat(@NotNull String extension) {
+        fileFormats.remove(extension);
+        return this;
+    }
+
     /**
      * Creates a new {@link TranslationDirectory}.
      *
      * @return a new {@link TranslationDirectory}
      * @throws NullPointerException the directory is not set by {@link #setDirectory(Path)}
      * @throws NullPointerException the registry supplier is not set by {@link #setRegistrySupplier(Supplier)} or could not be created
+     * @throws IllegalStateException the cache size or the off-heap storage is set with the lazy loading or the component templates,
+     *                               or the validation is enabled with the lazy loading
      */
     @Contract(value = "-> new", pure = true)
     public @NotNull TranslationDirectory build() {
         Objects.requireNonNull(directory);
 
+        if (lazyLoading && 0 < cacheSize) {
+            throw new IllegalStateException("The lazy loading cannot be used with the cache size");
+        }
+
+        if (lazyLoading && offHeapStorage) {
+            throw new IllegalStateException("The lazy loading cannot be used with the off-heap storage");
+        }
+
+        if (lazyLoading && validationEnabled) {
+            throw new IllegalStateException("The lazy loading cannot be used with the validation");
+        }
+
+        if (componentTemplatesEnabled && 0 < cacheSize) {
+            throw new IllegalStateException("The component templates cannot be used with the cache size");
+        }
+
+        if (componentTemplatesEnabled && offHeapStorage) {
+            throw new IllegalStateException("The component templates cannot be used with the off-heap storage");
+        }
+
+        if (legacyFormattingEnabled && !componentTemplatesEnabled) {
+            throw new IllegalStateException("The legacy formatting requires the component templates");
+        }
+
+        Supplier<TranslationRegistry> supplier;
+
         if (registrySupplier == null) {
             Objects.requireNonNull(key);
 
-            registrySupplier = () -> {
+            supplier = () -> {
                 var registry = TranslationRegistry.create(key);
 
                 if (defaultLocale != null) {
                     registry.defaultLocale(defaultLocale);
                 }
 
+                return registry;
+            };
+        } else if (defaultLocale == null) {
+            // the default locale of the supplied registry is unknown, so it cannot be used by LocaleResolver and the lazy loading
+            throw new IllegalStateException("The default locale must be set when the registry supplier is set");
+        } else {
+            var customSupplier = registrySupplier;
+            var locale = defaultLocale;
+
+            supplier = () -> {
+                var registry = customSupplier.get();
+                registry.defaultLocale(locale);
                 return registry;
             };
         }
 
-        Objects.requireNonNull(registrySupplier);
-        return new TranslationDirectory(directory, registrySupplier, onDirectoryCreated, version, translationLoaderCreator);
+        return new TranslationDirectory(directory, supplier, onDirectoryCreated, version, translationLoaderCreator,
+                Map.copyOf(fileFormats), packFile, Objects.requireNonNullElse(defaultLocale, Locale.US), manifestEnabled, lazyLoading, idleTimeout, cacheSize, offHeapStorage, componentTemplatesEnabled, legacyFormattingEnabled, validationEnabled);
     }
 }
@@ -26,4 +26,22 @@ public interface TranslationLoaderCreator {
      */
     @Nullable TranslationLoader createLoader(@NotNull Locale locale) throws IOException;
 
+    /**
+     * Gets the fingerprint of the source that {@link #createLoader(Locale)} will load.
+     * <p>
+     * If the manifest is enabled by {@link TranslationDirectoryBuilder#setManifestEnabled(boolean)}
+     * and the fingerprint is the same as the one recorded at the last merge,
+     * {@link TranslationDirectory} skips calling {@link #createLoader(Locale)}.
+     * <p>
+     * The fingerprint should be cheap to compute, for example the hash of the resource or the build number.
+     * By default, this method returns {@code null}, and the hash of the created loader's messages is used instead.
+     *
+     * @param locale the locale of the translation
+     * @return the fingerprint of the source, or {@code null} if it is not available
+     * @throws IOException if I/O error occurred
+     */
+    default @Nullable String getFingerprint(@NotNull Locale locale) throws IOException {
+        return null;
+    }
+
 }
@@ -0,0 +1,170 @@
+package com.github.siroshun09.translationloader.directory;
+
+import com.github.siroshun09.translationloader.util.LocaleParser;
+import com.github.siroshun09.translationloader.util.MessageIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * A class to write and read the snapshot file of merged messages.
+ * <p>
+ * The snapshot contains the header (magic, format version and CRC32C of the rest of the file),
+ * the version of the directory, and the {@link MessageIndex} of each locale.
+ */
+final class TranslationSnapshot {
+
+    private static final int MAGIC = 0x544C5353; // TLSS
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private TranslationSnapshot() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the snapshot to the file.
+     * <p>
+     * The file is written to the temporary file and then moved, so the file that is being read is not modified.
+     *
+     * @param file    the file to write
+     * @param version the version of the directory
+     * @param indexes the {@link MessageIndex} of each locale
+     * @throws IOException if I/O error occurred
+     */
+    static void write(@NotNull Path file, @NotNull String version, @NotNull Map<Locale, MessageIndex> indexes) throws IOException {
+        var buffers = new ArrayList<ByteBuffer>(indexes.size() * 2 + 2);
+        var header = ByteBuffer.allocate(HEADER_SIZE);
+        var encodedVersion = version.getBytes(StandardCharsets.UTF_8);
+
+        buffers.add(header);
+        buffers.add(ByteBuffer.allocate(8 + encodedVersion.length).putInt(encodedVersion.length).put(encodedVersion).putInt(indexes.size()).flip());
+
+        for (var entry : indexes.entrySet()) {
+            // the language tag keeps the script (e.g. zh-Hant-TW), which Locale#toString cannot be parsed back from
+            var locale = entry.getKey().toLanguageTag().getBytes(StandardCharsets.UTF_8);
+            var index = entry.getValue().asReadOnlyBuffer();
+
+            buffers.add(ByteBuffer.allocate(8 + locale.length).putInt(locale.length).put(locale).putInt(index.remaining()).flip());
+            buffers.add(index);
+        }
+
+        var checksum = new CRC32C();
+
+        for (int i = 1; i < buffers.size(); i++) {
+            checksum.update(buffers.get(i).duplicate());
+        }
+
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(checksum.getValue()).flip();
+
+        var parent = file.toAbsolutePath().getParent();
+
+        Files.createDirectories(parent);
+
+        var temp = Files.createTempFile(parent, String.valueOf(file.getFileName()), ".tmp");
+        var array = buffers.toArray(new ByteBuffer[0]);
+
+        try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (array[array.length - 1].hasRemaining()) {
+                channel.write(array);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the snapshot file as a memory-mapped file.
+     *
+     * @param file the file to read
+     * @return the read {@link Snapshot}
+     * @throws IOException if I/O error occurred or the file is not a valid snapshot
+     */
+    static @NotNull Snapshot read(@NotNull Path file) throws IOException {
+        ByteBuffer buffer;
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a translation snapshot: " + file);
+        }
+
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format version: " + buffer.getInt(4) + " (" + file + ")");
+        }
+
+        var checksum = new CRC32C();
+        checksum.update(buffer.duplicate().position(HEADER_SIZE));
+
+        if (checksum.getValue() != buffer.getLong(8)) {
+            throw new IOException("The snapshot is broken (checksum mismatch): " + file);
+        }
+
+        try {
+            buffer.position(HEADER_SIZE);
+
+            var version = readString(buffer);
+            int localeCount = buffer.getInt();
+            var indexes = new HashMap<Locale, MessageIndex>(localeCount);
+
+            for (int i = 0; i < localeCount; i++) {
+                var locale = LocaleParser.parse(readString(buffer));
+                int length = buffer.getInt();
+                var index = MessageIndex.wrap(buffer.slice().limit(length));
+
+                buffer.position(buffer.position() + length);
+
+                if (locale != null) {
+                    indexes.put(locale, index);
+                }
+            }
+
+            return new Snapshot(version, indexes);
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("The snapshot is broken: " + file, e);
+        }
+    }
+
+    private static @NotNull String readString(@NotNull ByteBuffer buffer) {
+        var bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static final class Snapshot {
+
+        private final String version;
+        private final Map<Locale, MessageIndex> indexes;
+
+        private Snapshot(@NotNull String version, @NotNull Map<Locale, MessageIndex> indexes) {
+            this.version = version;
+            this.indexes = indexes;
+        }
+
+        @NotNull String getVersion() {
+            return version;
+        }
+
+        @NotNull Map<Locale, MessageIndex> getIndexes() {
+            return indexes;
+        }
+    }
+}
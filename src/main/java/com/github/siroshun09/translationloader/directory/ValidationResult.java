@@ -0,0 +1,187 @@
+package com.github.siroshun09.translationloader.directory;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * A result of validating messages against messages of the default locale.
+ *
+ * @see TranslationDirectoryBuilder#setValidationEnabled(boolean)
+ * @see TranslationDirectory#getValidationResult()
+ */
+public final class ValidationResult {
+
+    private final Locale defaultLocale;
+    private final List<Mismatch> mismatches;
+
+    ValidationResult(@NotNull Locale defaultLocale, @NotNull List<Mismatch> mismatches) {
+        this.defaultLocale = defaultLocale;
+        this.mismatches = List.copyOf(mismatches);
+    }
+
+    /**
+     * Checks if no mismatch is found.
+     *
+     * @return {@code true} if no mismatch is found, otherwise {@code false}
+     */
+    public boolean isValid() {
+        return mismatches.isEmpty();
+    }
+
+    /**
+     * Gets the {@link Locale} that is used as the reference.
+     * <p>
+     * This is the default {@link Locale}, or the loaded {@link Locale} that is used instead of it if it is not loaded.
+     *
+     * @return the {@link Locale} that is used as the reference
+     */
+    public @NotNull Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    /**
+     * Gets the found mismatches, sorted by the locale and the key.
+     *
+     * @return the list of {@link Mismatch}es
+     */
+    public @NotNull @Unmodifiable List<Mismatch> getMismatches() {
+        return mismatches;
+    }
+
+    /**
+     * Gets the found mismatches of the {@link Locale}.
+     *
+     * @param locale the {@link Locale}
+     * @return the list of {@link Mismatch}es of the {@link Locale}
+     */
+    public @NotNull @Unmodifiable List<Mismatch> getMismatches(@NotNull Locale locale) {
+        Objects.requireNonNull(locale);
+        return mismatches.stream().filter(mismatch -> mismatch.locale.equals(locale)).collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResult{" +
+                "defaultLocale=" + defaultLocale +
+                ", mismatches=" + mismatches +
+                '}';
+    }
+
+    /**
+     * A type of {@link Mismatch}.
+     */
+    public enum Type {
+        /**
+         * The message cannot be parsed (e.g. unmatched braces).
+         */
+        INVALID_PATTERN,
+        /**
+         * The message does not use the argument that the message of the default locale uses.
+         */
+        MISSING_ARGUMENT,
+        /**
+         * The message uses the argument that the message of the default locale does not use.
+         */
+        EXTRA_ARGUMENT,
+        /**
+         * The message uses the argument with the different format type (e.g. {@code {0}} and {@code {0,number}}).
+         */
+        ARGUMENT_TYPE_MISMATCH,
+        /**
+         * The key exists in the default locale but does not exist in the locale.
+         */
+        MISSING_KEY,
+        /**
+         * The key does not exist in the default locale.
+         */
+        UNKNOWN_KEY
+    }
+
+    /**
+     * A mismatch between the message and the message of the default locale.
+     */
+    public static final class Mismatch {
+
+        private final Locale locale;
+        private final String key;
+        private final Type type;
+        private final int argumentIndex;
+
+        Mismatch(@NotNull Locale locale, @NotNull String key, @NotNull Type type, int argumentIndex) {
+            this.locale = locale;
+            this.key = key;
+            this.type = type;
+            this.argumentIndex = argumentIndex;
+        }
+
+        /**
+         * Gets the {@link Locale} of the message.
+         *
+         * @return the {@link Locale} of the message
+         */
+        public @NotNull Locale getLocale() {
+            return locale;
+        }
+
+        /**
+         * Gets the key of the message.
+         *
+         * @return the key of the message
+         */
+        public @NotNull String getKey() {
+            return key;
+        }
+
+        /**
+         * Gets the type of this mismatch.
+         *
+         * @return the type of this mismatch
+         */
+        public @NotNull Type getType() {
+            return type;
+        }
+
+        /**
+         * Gets the index of the argument.
+         *
+         * @return the index of the argument, or {@code -1} if this mismatch is not about the argument
+         */
+        public int getArgumentIndex() {
+            return argumentIndex;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Mismatch)) {
+                return false;
+            }
+
+            var other = (Mismatch) o;
+            return argumentIndex == other.argumentIndex && locale.equals(other.locale) && key.equals(other.key) && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(locale, key, type, argumentIndex);
+        }
+
+        @Override
+        public String toString() {
+            return "Mismatch{" +
+                    "locale=" + locale +
+                    ", key='" + key + '\'' +
+                    ", type=" + type +
+                    ", argumentIndex=" + argumentIndex +
+                    '}';
+        }
+    }
+}
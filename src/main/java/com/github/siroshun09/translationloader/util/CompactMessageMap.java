@@ -0,0 +1,184 @@
+package com.github.siroshun09.translationloader.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable map of messages that uses an open-addressing table.
+ * <p>
+ * Keys and values are stored in two flat arrays, so this map does not create an entry object per message
+ * unlike {@link java.util.HashMap}. This map is suitable for read-mostly message maps with many keys.
+ * <p>
+ * Null keys and null values are not allowed.
+ */
+public final class CompactMessageMap extends AbstractMap<String, String> {
+
+    private static final CompactMessageMap EMPTY = new CompactMessageMap(new String[1], new String[1], 0);
+
+    /**
+     * Creates a {@link CompactMessageMap} that contains the entries of the given map.
+     *
+     * @param map the map to copy
+     * @return the {@link CompactMessageMap}, or the given map if it is already a {@link CompactMessageMap}
+     * @throws NullPointerException if the map contains null key or null value
+     */
+    @Contract(pure = true)
+    public static @NotNull @Unmodifiable CompactMessageMap copyOf(@NotNull Map<String, String> map) {
+        if (map instanceof CompactMessageMap) {
+            return (CompactMessageMap) map;
+        }
+
+        int size = map.size();
+
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        // keep the load factor below 0.75 so that the table always has an empty slot
+        int capacity = 2;
+
+        while (capacity - (capacity >> 2) <= size) {
+            capacity <<= 1;
+        }
+
+        var keys = new String[capacity];
+        var values = new String[capacity];
+
+        for (var entry : map.entrySet()) {
+            var key = Objects.requireNonNull(entry.getKey());
+            var value = Objects.requireNonNull(entry.getValue());
+            int index = probe(keys, key);
+
+            if (keys[index] == null) {
+                keys[index] = key;
+            }
+
+            values[index] = value;
+        }
+
+        return new CompactMessageMap(keys, values, size);
+    }
+
+    private final String[] keys;
+    private final String[] values;
+    private final int size;
+
+    private CompactMessageMap(@NotNull String[] keys, @NotNull String[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public @Nullable String get(Object key) {
+        if (!(key instanceof String) || size == 0) {
+            return null;
+        }
+
+        int index = probe(keys, (String) key);
+        return values[index];
+    }
+
+    @Override
+    public @Nullable String getOrDefault(Object key, String defaultValue) {
+        var value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public void forEach(@NotNull BiConsumer<? super String, ? super String> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<String, String>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static int probe(@NotNull String[] keys, @NotNull String key) {
+        int mask = keys.length - 1;
+        int hash = key.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+
+        while (true) {
+            var current = keys[index];
+
+            if (current == null || current.equals(key)) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, String>> {
+
+        private int index = nextIndex(0);
+
+        @Override
+        public boolean hasNext() {
+            return index < keys.length;
+        }
+
+        @Override
+        public @NotNull Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            var entry = Map.entry(keys[index], values[index]);
+            index = nextIndex(index + 1);
+            return entry;
+        }
+
+        private int nextIndex(int start) {
+            int i = start;
+
+            while (i < keys.length && keys[i] == null) {
+                i++;
+            }
+
+            return i;
+        }
+    }
+}
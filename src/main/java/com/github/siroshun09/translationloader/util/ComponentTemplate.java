@@ -0,0 +1,277 @@
+package com.github.siroshun09.translationloader.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link Component} template that is parsed from a message.
+ * <p>
+ * The message is parsed once, and {@link #apply(List)} only fills the placeholders with arguments.
+ * <p>
+ * The following syntax is supported:
+ * <ul>
+ *     <li>Placeholders of {@link java.text.MessageFormat} without the format type (e.g. {@code {0}})</li>
+ *     <li>Quotes of {@link java.text.MessageFormat} (e.g. {@code it''s} and {@code '{'})</li>
+ *     <li>Legacy formatting codes with {@code &} or {@code §} (e.g. {@code &a}, {@code &l} and {@code &r}) if enabled</li>
+ *     <li>Hex colors with {@code &#} or {@code §#} (e.g. {@code &#ff8800}) if enabled</li>
+ * </ul>
+ * <p>
+ * Legacy formatting codes are not parsed by default, because {@code &} is also used in plain text (e.g. {@code R&D}).
+ * As in the legacy format, a color code resets decorations that are set before it.
+ */
+public final class ComponentTemplate {
+
+    private static final String COLOR_CODES = "0123456789abcdef";
+    private static final NamedTextColor[] COLORS = {
+            NamedTextColor.BLACK, NamedTextColor.DARK_BLUE, NamedTextColor.DARK_GREEN, NamedTextColor.DARK_AQUA,
+            NamedTextColor.DARK_RED, NamedTextColor.DARK_PURPLE, NamedTextColor.GOLD, NamedTextColor.GRAY,
+            NamedTextColor.DARK_GRAY, NamedTextColor.BLUE, NamedTextColor.GREEN, NamedTextColor.AQUA,
+            NamedTextColor.RED, NamedTextColor.LIGHT_PURPLE, NamedTextColor.YELLOW, NamedTextColor.WHITE
+    };
+    private static final int HEX_LENGTH = 6;
+
+    /**
+     * Parses the message to the {@link ComponentTemplate}.
+     * <p>
+     * Legacy formatting codes in the message are kept as they are.
+     *
+     * @param message the message to parse
+     * @return the parsed {@link ComponentTemplate}
+     * @throws IllegalArgumentException if the message contains the unsupported placeholder (e.g. {@code {0,number}})
+     *                                  or the unmatched brace
+     * @see #parse(String, boolean)
+     */
+    @Contract("_ -> new")
+    public static @NotNull ComponentTemplate parse(@NotNull String message) {
+        return parse(message, false);
+    }
+
+    /**
+     * Parses the message to the {@link ComponentTemplate}.
+     *
+     * @param message          the message to parse
+     * @param legacyFormatting {@code true} to convert legacy formatting codes (e.g. {@code &a}) to styles
+     * @return the parsed {@link ComponentTemplate}
+     * @throws IllegalArgumentException if the message contains the unsupported placeholder (e.g. {@code {0,number}})
+     *                                  or the unmatched brace
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull ComponentTemplate parse(@NotNull String message, boolean legacyFormatting) {
+        var parts = new ArrayList<Object>();
+        var text = new StringBuilder();
+        var style = Style.empty();
+        boolean quoted = false;
+        int length = message.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = message.charAt(i);
+
+            if (c == '\'') {
+                if (i + 1 < length && message.charAt(i + 1) == '\'') {
+                    text.append('\'');
+                    i += 2;
+                } else {
+                    quoted = !quoted;
+                    i++;
+                }
+            } else if (c == '{' && !quoted) {
+                int end = message.indexOf('}', i);
+
+                if (end == -1) {
+                    throw new IllegalArgumentException("Unmatched braces in the message: " + message);
+                }
+
+                flush(parts, text, style);
+                parts.add(new Placeholder(parseIndex(message, i + 1, end), style));
+                i = end + 1;
+            } else if (legacyFormatting && (c == '&' || c == '§') && i + 1 < length) {
+                char code = Character.toLowerCase(message.charAt(i + 1));
+                int colorIndex = COLOR_CODES.indexOf(code);
+                TextColor hexColor;
+
+                if (colorIndex != -1) {
+                    flush(parts, text, style);
+                    style = Style.style(COLORS[colorIndex]);
+                    i += 2;
+                } else if (code == '#' && (hexColor = parseHex(message, i + 2)) != null) {
+                    flush(parts, text, style);
+                    style = Style.style(hexColor);
+                    i += 2 + HEX_LENGTH;
+                } else if (code == 'r') {
+                    flush(parts, text, style);
+                    style = Style.empty();
+                    i += 2;
+                } else if (toDecoration(code) != null) {
+                    flush(parts, text, style);
+                    style = style.decoration(toDecoration(code), true);
+                    i += 2;
+                } else {
+                    text.append(c);
+                    i++;
+                }
+            } else {
+                text.append(c);
+                i++;
+            }
+        }
+
+        flush(parts, text, style);
+
+        return new ComponentTemplate(parts.toArray());
+    }
+
+    private final Object[] parts;
+    private final @Nullable Component constant;
+
+    private ComponentTemplate(@NotNull Object[] parts) {
+        this.parts = parts;
+
+        boolean hasPlaceholder = false;
+
+        for (var part : parts) {
+            hasPlaceholder |= part instanceof Placeholder;
+        }
+
+        this.constant = hasPlaceholder ? null : build(List.of());
+    }
+
+    /**
+     * Creates the {@link Component} with arguments.
+     * <p>
+     * If the argument of the placeholder is not given, the placeholder is left as it is (e.g. {@code {1}}).
+     *
+     * @param arguments the arguments to fill placeholders
+     * @return the {@link Component}
+     */
+    public @NotNull Component apply(@NotNull List<? extends Component> arguments) {
+        return constant != null ? constant : build(arguments);
+    }
+
+    /**
+     * Creates the {@link Component} with arguments.
+     *
+     * @param arguments the arguments to fill placeholders
+     * @return the {@link Component}
+     * @see #apply(List)
+     */
+    public @NotNull Component apply(@NotNull Component @NotNull ... arguments) {
+        return apply(List.of(arguments));
+    }
+
+    private @NotNull Component build(@NotNull List<? extends Component> arguments) {
+        if (parts.length == 1 && parts[0] instanceof Component) {
+            return (Component) parts[0];
+        }
+
+        var builder = Component.text();
+
+        for (var part : parts) {
+            if (part instanceof Component) {
+                builder.append((Component) part);
+                continue;
+            }
+
+            var placeholder = (Placeholder) part;
+            Component argument;
+
+            if (placeholder.index < arguments.size()) {
+                argument = arguments.get(placeholder.index);
+            } else {
+                argument = Component.text("{" + placeholder.index + "}");
+            }
+
+            if (placeholder.style.isEmpty()) {
+                builder.append(argument);
+            } else {
+                builder.append(Component.text().style(placeholder.style).append(argument));
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static void flush(@NotNull List<Object> parts, @NotNull StringBuilder text, @NotNull Style style) {
+        if (text.length() != 0) {
+            parts.add(Component.text(text.toString(), style));
+            text.setLength(0);
+        }
+    }
+
+    private static int parseIndex(@NotNull String message, int start, int end) {
+        if (start == end) {
+            throw new IllegalArgumentException("Empty placeholder in the message: " + message);
+        }
+
+        int index = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+
+            if (c < '0' || '9' < c || index > (Integer.MAX_VALUE - 9) / 10) {
+                throw new IllegalArgumentException("Unsupported placeholder in the message: " + message);
+            }
+
+            index = index * 10 + (c - '0');
+        }
+
+        return index;
+    }
+
+    private static @Nullable TextColor parseHex(@NotNull String message, int start) {
+        if (message.length() < start + HEX_LENGTH) {
+            return null;
+        }
+
+        int value = 0;
+
+        for (int i = start; i < start + HEX_LENGTH; i++) {
+            int digit = Character.digit(message.charAt(i), 16);
+
+            if (digit == -1) {
+                return null;
+            }
+
+            value = (value << 4) | digit;
+        }
+
+        return TextColor.color(value);
+    }
+
+    private static @Nullable TextDecoration toDecoration(char code) {
+        switch (code) {
+            case 'k':
+                return TextDecoration.OBFUSCATED;
+            case 'l':
+                return TextDecoration.BOLD;
+            case 'm':
+                return TextDecoration.STRIKETHROUGH;
+            case 'n':
+                return TextDecoration.UNDERLINED;
+            case 'o':
+                return TextDecoration.ITALIC;
+            default:
+                return null;
+        }
+    }
+
+    private static final class Placeholder {
+
+        private final int index;
+        private final Style style;
+
+        private Placeholder(int index, @NotNull Style style) {
+            this.index = index;
+            this.style = style;
+        }
+    }
+}
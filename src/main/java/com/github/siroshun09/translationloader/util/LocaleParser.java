@@ -1,22 +1,36 @@
 package com.github.siroshun09.translationloader.util;
 
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * A utility class that parse string to {@link Locale}.
+ * <p>
+ * Both {@code _} and {@code -} are accepted as the separator (e.g. {@code en_US} and {@code en-US}).
+ * Strings that contain {@code -} are parsed as BCP 47 language tags, so script subtags are also accepted (e.g. {@code zh-Hant-TW}).
+ * <p>
+ * Parsed {@link Locale}s are cached, so parsing the same string again does not allocate any object.
+ * The cache has a fixed size, so parsing many different strings (e.g. strings sent by clients) does not grow the memory.
  */
 public final class LocaleParser {
 
+    private static final int CACHE_SIZE = 256; // must be a power of two
+    private static final Entry[] CACHE = new Entry[CACHE_SIZE];
+
     private LocaleParser() {
         throw new UnsupportedOperationException();
     }
 
     /**
      * Parses the {@link Locale} from the file name.
+     * <p>
+     * The part before the first dot of the file name is used (e.g. {@code en_US} of {@code en_US.yml}).
      *
      * @param path the path to parse
      * @return the locale if the parse was successful, null otherwise
@@ -33,18 +47,10 @@ public final class LocaleParser {
             return null;
         }
 
-        var fileName = filePath.toString().toCharArray();
-        var builder = new StringBuilder();
-
-        for (var c : fileName) {
-            if (c != '.') {
-                builder.append(c);
-            } else {
-                break;
-            }
-        }
+        var fileName = filePath.toString();
+        var firstDot = fileName.indexOf('.');
 
-        return LocaleParser.parse(builder.toString());
+        return parse(fileName, 0, firstDot != -1 ? firstDot : fileName.length());
     }
 
     /**
@@ -55,25 +61,152 @@ public final class LocaleParser {
      */
     @Contract("null -> null")
     public static @Nullable Locale parse(String str) {
-        if (str == null || str.isEmpty()) {
+        if (str == null) {
             return null;
         }
 
-        var segments = str.split("_", 3);
-        int length = segments.length;
+        return parse(str, 0, str.length());
+    }
 
-        if (length == 1) {
-            return new Locale(str); // language
+    /**
+     * Parses the part of the string to {@link Locale}.
+     *
+     * @param str   the string to parse
+     * @param start the start index, inclusive
+     * @param end   the end index, exclusive
+     * @return the locale if the parse was successful, null otherwise
+     * @throws IndexOutOfBoundsException if the range is out of the string
+     */
+    public static @Nullable Locale parse(@NotNull String str, int start, int end) {
+        if (start < 0 || end > str.length() || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + str.length());
         }
 
-        if (length == 2) {
-            return new Locale(segments[0], segments[1]); // language + country
+        if (start == end) {
+            return null;
         }
 
-        if (length == 3) {
-            return new Locale(segments[0], segments[1], segments[2]); // language + country + variant
+        int hash = hash(str, start, end);
+        int index = hash & (CACHE_SIZE - 1);
+
+        // Entry has only final fields, so it can be read safely without synchronization.
+        var cached = CACHE[index];
+
+        if (cached != null && cached.hash == hash && cached.matches(str, start, end)) {
+            return cached.locale;
         }
 
-        return null;
+        var locale = canonicalize(createLocale(str, start, end));
+        CACHE[index] = new Entry(str.substring(start, end), hash, locale);
+
+        return locale;
+    }
+
+    private static @NotNull Locale createLocale(@NotNull String str, int start, int end) {
+        if (indexOf(str, '-', start, end) != -1) {
+            var locale = Locale.forLanguageTag(str.substring(start, end).replace('_', '-'));
+
+            if (!locale.getLanguage().isEmpty()) {
+                return locale;
+            }
+        }
+
+        int first = indexOfSeparator(str, start, end);
+
+        if (first == -1) {
+            return new Locale(str.substring(start, end)); // language
+        }
+
+        var language = str.substring(start, first);
+        int second = indexOfSeparator(str, first + 1, end);
+
+        if (second == -1) {
+            return new Locale(language, str.substring(first + 1, end)); // language + country
+        }
+
+        // language + country + variant
+        return new Locale(language, str.substring(first + 1, second), str.substring(second + 1, end));
+    }
+
+    private static @NotNull Locale canonicalize(@NotNull Locale locale) {
+        var canonical = CanonicalLocales.MAP.get(locale);
+        return canonical != null ? canonical : locale;
+    }
+
+    private static int indexOfSeparator(@NotNull String str, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (isSeparator(str.charAt(i))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int indexOf(@NotNull String str, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (str.charAt(i) == c) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int hash(@NotNull String str, int start, int end) {
+        int hash = 0;
+
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + str.charAt(i);
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '_' || c == '-';
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final int hash;
+        private final Locale locale;
+
+        private Entry(@NotNull String key, int hash, @NotNull Locale locale) {
+            this.key = key;
+            this.hash = hash;
+            this.locale = locale;
+        }
+
+        private boolean matches(@NotNull String str, int start, int end) {
+            // "_" and "-" are parsed differently, so they are not treated as the same character here
+            return key.length() == end - start && key.regionMatches(0, str, start, key.length());
+        }
+    }
+
+    private static final class CanonicalLocales {
+
+        private static final Map<Locale, Locale> MAP;
+
+        static {
+            var availableLocales = Locale.getAvailableLocales();
+            var map = new HashMap<Locale, Locale>(availableLocales.length * 2);
+
+            for (var locale : availableLocales) {
+                map.put(locale, locale);
+            }
+
+            // Prefer the constants so that the parsed locale is identical to them.
+            for (var locale : new Locale[]{
+                    Locale.ENGLISH, Locale.FRENCH, Locale.GERMAN, Locale.ITALIAN, Locale.JAPANESE, Locale.KOREAN,
+                    Locale.CHINESE, Locale.SIMPLIFIED_CHINESE, Locale.TRADITIONAL_CHINESE, Locale.FRANCE, Locale.GERMANY,
+                    Locale.ITALY, Locale.JAPAN, Locale.KOREA, Locale.UK, Locale.US, Locale.CANADA, Locale.CANADA_FRENCH
+            }) {
+                map.put(locale, locale);
+            }
+
+            MAP = Map.copyOf(map);
+        }
     }
 }
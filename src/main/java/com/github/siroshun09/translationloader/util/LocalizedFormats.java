@@ -0,0 +1,452 @@
+package com.github.siroshun09.translationloader.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.AttributedCharacterIterator;
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class to create {@link MessageFormat}s that share number and date formats of the {@link Locale}.
+ * <p>
+ * {@link MessageFormat} creates {@link NumberFormat} or {@link DateFormat} for each format element
+ * (e.g. {@code {0,number}} and {@code {0,date,short}}), so a locale that has many messages holds many copies of them.
+ * {@link MessageFormat}s created by {@link #createMessageFormat(String, Locale)} use one instance per the {@link Locale}
+ * and the format element instead. Elements with the custom pattern (e.g. {@code {0,number,#.##}}) are not shared.
+ * <p>
+ * Shared formats can be used from multiple threads. Each thread formats with its own copy that is created on the first use.
+ * <p>
+ * Sharing reduces the memory that loaded messages use. It does not make rendering faster:
+ * Adventure's renderer formats messages with {@code null} arguments and inserts the components afterwards,
+ * so the formats are rarely used on rendering.
+ * <p>
+ * Loaders of this library create {@link MessageFormat}s by {@link #createMessageFormat(String, Locale)},
+ * so numbers and dates in messages are formatted in the {@link Locale} of the message,
+ * not in {@link Locale#getDefault(Locale.Category) the default locale for formatting} of the JVM
+ * that {@code new MessageFormat(pattern)} uses.
+ */
+public final class LocalizedFormats {
+
+    private static final Map<Locale, Map<String, Format>> FORMATS = new ConcurrentHashMap<>();
+
+    private LocalizedFormats() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates the {@link MessageFormat} that uses shared formats of the {@link Locale}.
+     * <p>
+     * The result is the same as {@code new MessageFormat(pattern, locale)}.
+     *
+     * @param pattern the pattern of {@link MessageFormat}
+     * @param locale  the {@link Locale} of the message
+     * @return new {@link MessageFormat}
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull MessageFormat createMessageFormat(@NotNull String pattern, @NotNull Locale locale) {
+        if (pattern.indexOf(',') == -1) {
+            // no format types
+            return new MessageFormat(pattern, locale);
+        }
+
+        var stripped = new StringBuilder(pattern.length());
+        var sharedFormats = new HashMap<Integer, Format>();
+        int elementIndex = 0;
+        boolean quoted = false;
+        int length = pattern.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = pattern.charAt(i);
+
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '{' && !quoted) {
+                int end = PatternUtil.findElementEnd(pattern, i + 1);
+
+                if (end == -1) {
+                    // let MessageFormat report the error
+                    return new MessageFormat(pattern, locale);
+                }
+
+                var element = pattern.substring(i + 1, end);
+                var format = getSharedFormat(element, locale);
+
+                if (format != null) {
+                    stripped.append('{').append(element, 0, element.indexOf(',')).append('}');
+                    sharedFormats.put(elementIndex, format);
+                } else {
+                    stripped.append('{').append(element).append('}');
+                }
+
+                elementIndex++;
+                i = end + 1;
+                continue;
+            }
+
+            stripped.append(c);
+            i++;
+        }
+
+        if (sharedFormats.isEmpty()) {
+            return new MessageFormat(pattern, locale);
+        }
+
+        var messageFormat = new SharedMessageFormat(stripped.toString(), locale);
+        sharedFormats.forEach(messageFormat::setFormat);
+        return messageFormat;
+    }
+
+    /**
+     * Gets the shared {@link NumberFormat} of the {@link Locale}.
+     *
+     * @param locale the {@link Locale}
+     * @param style  the style of the format element ({@code integer}, {@code currency}, {@code percent}, the pattern of {@link DecimalFormat}),
+     *               or {@code null} to get the default format
+     * @return the shared {@link NumberFormat}, or the new {@link NumberFormat} for the pattern (formats of patterns are not cached)
+     */
+    public static @NotNull NumberFormat getNumberFormat(@NotNull Locale locale, @Nullable String style) {
+        return (NumberFormat) getFormat(locale, "number", style);
+    }
+
+    /**
+     * Gets the shared {@link DateFormat} of the {@link Locale}.
+     *
+     * @param locale the {@link Locale}
+     * @param style  the style of the format element ({@code short}, {@code medium}, {@code long}, {@code full}, the pattern of {@link SimpleDateFormat}),
+     *               or {@code null} to get the default format
+     * @return the shared {@link DateFormat}, or the new {@link DateFormat} for the pattern (formats of patterns are not cached)
+     */
+    public static @NotNull DateFormat getDateFormat(@NotNull Locale locale, @Nullable String style) {
+        return (DateFormat) getFormat(locale, "date", style);
+    }
+
+    /**
+     * Gets the shared {@link DateFormat} of the {@link Locale} to format the time.
+     *
+     * @param locale the {@link Locale}
+     * @param style  the style of the format element ({@code short}, {@code medium}, {@code long}, {@code full}, the pattern of {@link SimpleDateFormat}),
+     *               or {@code null} to get the default format
+     * @return the shared {@link DateFormat}, or the new {@link DateFormat} for the pattern (formats of patterns are not cached)
+     */
+    public static @NotNull DateFormat getTimeFormat(@NotNull Locale locale, @Nullable String style) {
+        return (DateFormat) getFormat(locale, "time", style);
+    }
+
+    private static @Nullable Format getSharedFormat(@NotNull String element, @NotNull Locale locale) {
+        int typeStart = element.indexOf(',');
+
+        if (typeStart == -1) {
+            return null;
+        }
+
+        int styleStart = element.indexOf(',', typeStart + 1);
+        var type = (styleStart != -1 ? element.substring(typeStart + 1, styleStart) : element.substring(typeStart + 1))
+                .trim().toLowerCase(Locale.ROOT);
+
+        if (!type.equals("number") && !type.equals("date") && !type.equals("time")) {
+            return null; // choice format or an invalid type
+        }
+
+        var style = styleStart != -1 ? element.substring(styleStart + 1) : null;
+
+        if (style != null && !isKeyword(type, style.trim().toLowerCase(Locale.ROOT))) {
+            // MessageFormat#toPattern cannot restore the pattern of the shared format, so leave it to MessageFormat
+            return null;
+        }
+
+        return getFormat(locale, type, style);
+    }
+
+    private static boolean isKeyword(@NotNull String type, @NotNull String style) {
+        switch (style) {
+            case "":
+                return true;
+            case "integer":
+            case "currency":
+            case "percent":
+                return type.equals("number");
+            case "short":
+            case "medium":
+            case "long":
+            case "full":
+                return !type.equals("number");
+            default:
+                return false;
+        }
+    }
+
+    private static @NotNull Format getFormat(@NotNull Locale locale, @NotNull String type, @Nullable String style) {
+        var keyword = style != null ? style.trim().toLowerCase(Locale.ROOT) : "";
+
+        if (!isKeyword(type, keyword)) {
+            // callers can pass any number of patterns, so only the keyword styles are cached
+            return createFormat(locale, type, style);
+        }
+
+        var key = keyword.isEmpty() ? type : type + ',' + keyword;
+        var formats = FORMATS.computeIfAbsent(locale, ignored -> new ConcurrentHashMap<>());
+        var format = formats.get(key);
+        return format != null ? format : formats.computeIfAbsent(key, ignored -> createFormat(locale, type, style));
+    }
+
+    private static @NotNull Format createFormat(@NotNull Locale locale, @NotNull String type, @Nullable String style) {
+        var keyword = style != null ? style.trim().toLowerCase(Locale.ROOT) : "";
+
+        if (type.equals("number")) {
+            NumberFormat prototype;
+
+            switch (keyword) {
+                case "":
+                    prototype = NumberFormat.getInstance(locale);
+                    break;
+                case "integer":
+                    prototype = NumberFormat.getIntegerInstance(locale);
+                    break;
+                case "currency":
+                    prototype = NumberFormat.getCurrencyInstance(locale);
+                    break;
+                case "percent":
+                    prototype = NumberFormat.getPercentInstance(locale);
+                    break;
+                default:
+                    prototype = new DecimalFormat(style, DecimalFormatSymbols.getInstance(locale));
+            }
+
+            return new SharedNumberFormat(prototype);
+        }
+
+        int dateStyle;
+
+        switch (keyword) {
+            case "":
+            case "medium":
+                dateStyle = DateFormat.DEFAULT;
+                break;
+            case "short":
+                dateStyle = DateFormat.SHORT;
+                break;
+            case "long":
+                dateStyle = DateFormat.LONG;
+                break;
+            case "full":
+                dateStyle = DateFormat.FULL;
+                break;
+            default:
+                return new SharedDateFormat(new SimpleDateFormat(style, locale));
+        }
+
+        var prototype = type.equals("date") ?
+                DateFormat.getDateInstance(dateStyle, locale) :
+                DateFormat.getTimeInstance(dateStyle, locale);
+
+        return new SharedDateFormat(prototype);
+    }
+
+    private static @Nullable Format unwrap(@Nullable Format format) {
+        if (format instanceof SharedNumberFormat) {
+            return ((SharedNumberFormat) format).prototype;
+        } else if (format instanceof SharedDateFormat) {
+            return ((SharedDateFormat) format).prototype;
+        } else {
+            return format;
+        }
+    }
+
+    /**
+     * A {@link MessageFormat} that has shared formats.
+     * <p>
+     * {@link MessageFormat#toPattern()} cannot restore the format elements of shared formats,
+     * so {@link #toPattern()} creates the pattern with their prototypes.
+     */
+    private static final class SharedMessageFormat extends MessageFormat {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient volatile String pattern;
+
+        private SharedMessageFormat(@NotNull String pattern, @NotNull Locale locale) {
+            super(pattern, locale);
+        }
+
+        @Override
+        public String toPattern() {
+            var result = pattern;
+
+            if (result == null) {
+                var formats = getFormats();
+                var plain = new MessageFormat(super.toPattern(), getLocale());
+
+                for (int i = 0; i < formats.length; i++) {
+                    formats[i] = unwrap(formats[i]);
+                }
+
+                plain.setFormats(formats);
+                result = pattern = plain.toPattern();
+            }
+
+            return result;
+        }
+
+        @Override
+        public void applyPattern(String pattern) {
+            super.applyPattern(pattern);
+            this.pattern = null;
+        }
+
+        @Override
+        public void setFormat(int formatElementIndex, Format newFormat) {
+            super.setFormat(formatElementIndex, newFormat);
+            pattern = null;
+        }
+
+        @Override
+        public void setFormats(Format[] newFormats) {
+            super.setFormats(newFormats);
+            pattern = null;
+        }
+
+        @Override
+        public void setFormatByArgumentIndex(int argumentIndex, Format newFormat) {
+            super.setFormatByArgumentIndex(argumentIndex, newFormat);
+            pattern = null;
+        }
+
+        @Override
+        public void setFormatsByArgumentIndex(Format[] newFormats) {
+            super.setFormatsByArgumentIndex(newFormats);
+            pattern = null;
+        }
+    }
+
+    /**
+     * A {@link NumberFormat} that formats with the thread-local copy of the prototype.
+     * <p>
+     * {@link #equals(Object)} is {@code true} only for the {@link SharedNumberFormat} of the equal prototype.
+     */
+    private static final class SharedNumberFormat extends NumberFormat {
+
+        private static final long serialVersionUID = 1L;
+
+        private final NumberFormat prototype;
+        private final transient ThreadLocal<NumberFormat> local;
+
+        private SharedNumberFormat(@NotNull NumberFormat prototype) {
+            this.prototype = prototype;
+            this.local = ThreadLocal.withInitial(() -> (NumberFormat) prototype.clone());
+        }
+
+        @Override
+        public StringBuffer format(Object number, StringBuffer toAppendTo, FieldPosition pos) {
+            return local.get().format(number, toAppendTo, pos);
+        }
+
+        @Override
+        public StringBuffer format(double number, StringBuffer toAppendTo, FieldPosition pos) {
+            return local.get().format(number, toAppendTo, pos);
+        }
+
+        @Override
+        public StringBuffer format(long number, StringBuffer toAppendTo, FieldPosition pos) {
+            return local.get().format(number, toAppendTo, pos);
+        }
+
+        @Override
+        public AttributedCharacterIterator formatToCharacterIterator(Object obj) {
+            return local.get().formatToCharacterIterator(obj);
+        }
+
+        @Override
+        public Number parse(String source, ParsePosition parsePosition) {
+            return local.get().parse(source, parsePosition);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof SharedNumberFormat && prototype.equals(((SharedNumberFormat) obj).prototype);
+        }
+
+        @Override
+        public int hashCode() {
+            return prototype.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "SharedNumberFormat{prototype=" + prototype + '}';
+        }
+
+        private Object readResolve() {
+            // the thread-local is not serialized
+            return new SharedNumberFormat(prototype);
+        }
+    }
+
+    /**
+     * A {@link DateFormat} that formats with the thread-local copy of the prototype.
+     * <p>
+     * {@link #equals(Object)} is {@code true} only for the {@link SharedDateFormat} of the equal prototype.
+     */
+    private static final class SharedDateFormat extends DateFormat {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DateFormat prototype;
+        private final transient ThreadLocal<DateFormat> local;
+
+        private SharedDateFormat(@NotNull DateFormat prototype) {
+            this.prototype = prototype;
+            this.local = ThreadLocal.withInitial(() -> (DateFormat) prototype.clone());
+        }
+
+        @Override
+        public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
+            return local.get().format(date, toAppendTo, fieldPosition);
+        }
+
+        @Override
+        public AttributedCharacterIterator formatToCharacterIterator(Object obj) {
+            return local.get().formatToCharacterIterator(obj);
+        }
+
+        @Override
+        public Date parse(String source, ParsePosition pos) {
+            return local.get().parse(source, pos);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof SharedDateFormat && prototype.equals(((SharedDateFormat) obj).prototype);
+        }
+
+        @Override
+        public int hashCode() {
+            return prototype.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "SharedDateFormat{prototype=" + prototype + '}';
+        }
+
+        private Object readResolve() {
+            // the thread-local is not serialized
+            return new SharedDateFormat(prototype);
+        }
+    }
+}
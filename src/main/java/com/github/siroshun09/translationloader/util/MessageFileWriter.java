@@ -0,0 +1,349 @@
+package com.github.siroshun09.translationloader.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A class to write flattened messages to YAML or properties files.
+ * <p>
+ * Messages are written in order of the key directly to the file, without building the tree of the configuration.
+ * The same messages are always written in the same way, so changes of the file are limited to the changed messages.
+ * <p>
+ * Keys are separated by {@code .}, and written as nested sections in YAML (e.g. {@code a.b} is written as {@code b} in the section {@code a}).
+ * If the key cannot be written as nested sections (e.g. {@code a.b} when {@code a} also has the message),
+ * the rest of the key is written as one double-quoted key. Such keys are valid YAML, but configurations that resolve
+ * keys as paths separated by {@code .} cannot read them, so {@link #canWriteYamlSections(Map)} should be checked
+ * before writing messages that are read by such configurations.
+ */
+public final class MessageFileWriter {
+
+    private static final char SEPARATOR = '.';
+    private static final String INDENT = "  ";
+    private static final Set<String> YAML_KEYWORDS = Set.of("true", "false", "yes", "no", "on", "off", "y", "n", "null", "~");
+
+    /**
+     * The order of keys that places keys of the same section next to each other.
+     * <p>
+     * This is the same as comparing keys segment by segment, for example {@code a.b} comes before {@code a-b}.
+     */
+    private static final Comparator<String> KEY_ORDER = (first, second) -> {
+        for (int i = 0, length = Math.min(first.length(), second.length()); i < length; i++) {
+            char c1 = first.charAt(i);
+            char c2 = second.charAt(i);
+
+            if (c1 != c2) {
+                if (c1 == SEPARATOR) {
+                    return -1;
+                } else if (c2 == SEPARATOR) {
+                    return 1;
+                } else {
+                    return Character.compare(c1, c2);
+                }
+            }
+        }
+
+        return Integer.compare(first.length(), second.length());
+    };
+
+    private MessageFileWriter() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes messages to the file as YAML.
+     * <p>
+     * The file is written to the temporary file and then moved, so the file is not broken if writing fails.
+     *
+     * @param messages the messages to write
+     * @param file     the file to write
+     * @throws IOException if I/O error occurred
+     */
+    public static void writeYaml(@NotNull Map<String, String> messages, @NotNull Path file) throws IOException {
+        write(file, writer -> writeYaml(messages, writer));
+    }
+
+    /**
+     * Writes messages as YAML.
+     *
+     * @param messages the messages to write
+     * @param writer   the {@link Writer} to write to
+     * @throws IOException if I/O error occurred
+     */
+    public static void writeYaml(@NotNull Map<String, String> messages, @NotNull Writer writer) throws IOException {
+        var sections = new ArrayList<String>();
+
+        for (var key : sortKeys(messages)) {
+            var segments = split(key);
+            int common = 0;
+
+            while (common < sections.size() && common < segments.size() - 1 && sections.get(common).equals(segments.get(common))) {
+                common++;
+            }
+
+            sections.subList(common, sections.size()).clear();
+
+            for (int i = common; i < segments.size() - 1; i++) {
+                var section = segments.get(i);
+
+                // the key like "a" is written as the value, so "a.b" cannot be written in the section "a"
+                if (section.isEmpty() || messages.containsKey(join(segments.subList(0, i + 1)))) {
+                    break; // the rest of the key is written as one key
+                }
+
+                writeIndent(writer, sections.size());
+                writeYamlString(writer, section);
+                writer.write(':');
+                writer.write('\n');
+                sections.add(section);
+            }
+
+            var rest = segments.subList(sections.size(), segments.size());
+
+            writeIndent(writer, sections.size());
+
+            if (rest.size() == 1) {
+                writeYamlString(writer, rest.get(0));
+            } else {
+                // the plain key that contains "." is read as the nested path, so the key is always quoted
+                writeQuotedYamlString(writer, join(rest));
+            }
+
+            writer.write(": ");
+            writeYamlString(writer, messages.get(key));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Checks if all keys can be written as nested sections in YAML.
+     * <p>
+     * This returns {@code false} if a key is also the section of another key (e.g. {@code a} and {@code a.b}),
+     * or a key has an empty segment (e.g. {@code a..b}).
+     *
+     * @param messages the messages to check
+     * @return {@code true} if all keys can be written as nested sections, {@code false} otherwise
+     */
+    public static boolean canWriteYamlSections(@NotNull Map<String, String> messages) {
+        for (var key : messages.keySet()) {
+            int start = 0;
+            int end;
+
+            while ((end = key.indexOf(SEPARATOR, start)) != -1) {
+                if (end == start || messages.containsKey(key.substring(0, end))) {
+                    return false;
+                }
+
+                start = end + 1;
+            }
+
+            if (start == key.length() && start != 0) {
+                return false; // ends with the separator
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes messages to the file as properties.
+     * <p>
+     * The file is written to the temporary file and then moved, so the file is not broken if writing fails.
+     *
+     * @param messages the messages to write
+     * @param file     the file to write
+     * @throws IOException if I/O error occurred
+     */
+    public static void writeProperties(@NotNull Map<String, String> messages, @NotNull Path file) throws IOException {
+        write(file, writer -> writeProperties(messages, writer));
+    }
+
+    /**
+     * Writes messages as properties.
+     * <p>
+     * Characters that are not ASCII are written as {@code \}{@code uXXXX}, so the result can be read as both ISO-8859-1 and UTF-8.
+     *
+     * @param messages the messages to write
+     * @param writer   the {@link Writer} to write to
+     * @throws IOException if I/O error occurred
+     */
+    public static void writeProperties(@NotNull Map<String, String> messages, @NotNull Writer writer) throws IOException {
+        for (var key : sortKeys(messages)) {
+            writePropertiesString(writer, key, true);
+            writer.write('=');
+            writePropertiesString(writer, messages.get(key), false);
+            writer.write('\n');
+        }
+    }
+
+    private static void write(@NotNull Path file, @NotNull WriterConsumer consumer) throws IOException {
+        var parent = file.toAbsolutePath().getParent();
+
+        Files.createDirectories(parent);
+
+        var temp = Files.createTempFile(parent, String.valueOf(file.getFileName()), ".tmp");
+
+        try (var writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            consumer.accept(writer);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static @NotNull String @NotNull [] sortKeys(@NotNull Map<String, String> messages) {
+        var keys = messages.keySet().toArray(new String[0]);
+        Arrays.sort(keys, KEY_ORDER);
+        return keys;
+    }
+
+    private static @NotNull List<String> split(@NotNull String key) {
+        var segments = new ArrayList<String>();
+        int start = 0;
+        int end;
+
+        while ((end = key.indexOf(SEPARATOR, start)) != -1) {
+            segments.add(key.substring(start, end));
+            start = end + 1;
+        }
+
+        segments.add(key.substring(start));
+        return segments;
+    }
+
+    private static @NotNull String join(@NotNull List<String> segments) {
+        return segments.size() == 1 ? segments.get(0) : String.join(String.valueOf(SEPARATOR), segments);
+    }
+
+    private static void writeIndent(@NotNull Writer writer, int depth) throws IOException {
+        for (int i = 0; i < depth; i++) {
+            writer.write(INDENT);
+        }
+    }
+
+    private static void writeYamlString(@NotNull Writer writer, @NotNull String str) throws IOException {
+        if (isPlainScalar(str)) {
+            writer.write(str);
+        } else {
+            writeQuotedYamlString(writer, str);
+        }
+    }
+
+    private static void writeQuotedYamlString(@NotNull Writer writer, @NotNull String str) throws IOException {
+        writer.write('"');
+
+        for (int i = 0, length = str.length(); i < length; i++) {
+            char c = str.charAt(i);
+
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == 0x7F) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+
+        writer.write('"');
+    }
+
+    private static boolean isPlainScalar(@NotNull String str) {
+        // only simple strings are written without quotes, others are double-quoted to avoid YAML's special meanings
+        if (str.isEmpty() || !Character.isLetter(str.charAt(0)) || str.charAt(str.length() - 1) == ' ' ||
+                YAML_KEYWORDS.contains(str.toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+
+        for (int i = 0, length = str.length(); i < length; i++) {
+            char c = str.charAt(i);
+
+            if (!Character.isLetterOrDigit(c) && c != ' ' && c != '_' && c != '-' && c != '.' && c != ',' && c != '!' && c != '?') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void writePropertiesString(@NotNull Writer writer, @NotNull String str, boolean isKey) throws IOException {
+        for (int i = 0, length = str.length(); i < length; i++) {
+            char c = str.charAt(i);
+
+            switch (c) {
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                case '\f':
+                    writer.write("\\f");
+                    break;
+                case ' ':
+                    if (isKey || i == 0) {
+                        writer.write('\\');
+                    }
+
+                    writer.write(' ');
+                    break;
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    if (isKey) {
+                        writer.write('\\');
+                    }
+
+                    writer.write(c);
+                    break;
+                default:
+                    if (c < 0x20 || 0x7E < c) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface WriterConsumer {
+        void accept(@NotNull Writer writer) throws IOException;
+    }
+}
@@ -0,0 +1,298 @@
+package com.github.siroshun09.translationloader.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A read-only message table that is stored in a {@link ByteBuffer}.
+ * <p>
+ * Keys and values are stored as UTF-8 with an open-addressing hash table, so looking up a message reads
+ * only a few slots and the entry, and the value is decoded only when it is found.
+ * <p>
+ * The buffer can be a memory-mapped file ({@link #open(Path)}) or a direct buffer,
+ * so that messages are not stored in the Java heap.
+ * <p>
+ * Instances of this class are immutable and can be used from multiple threads.
+ */
+public final class MessageIndex {
+
+    private static final int MAGIC = 0x544C4958; // TLIX
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 8;
+
+    /**
+     * Creates the {@link ByteBuffer} that contains the message table.
+     *
+     * @param messages the messages to store
+     * @param direct   {@code true} to allocate the direct buffer, {@code false} to allocate the heap buffer
+     * @return the {@link ByteBuffer} that contains the message table
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull ByteBuffer toByteBuffer(@NotNull Map<String, String> messages, boolean direct) {
+        int size = messages.size();
+        int slotCount = 2;
+
+        // keep the load factor below 0.75 so that the table always has an empty slot
+        while (slotCount - (slotCount >> 2) <= size) {
+            slotCount <<= 1;
+        }
+
+        var keys = new byte[size][];
+        var values = new byte[size][];
+        var hashes = new int[size];
+        long entriesSize = 0;
+        int i = 0;
+
+        for (var entry : messages.entrySet()) {
+            keys[i] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            values[i] = entry.getValue().getBytes(StandardCharsets.UTF_8);
+            hashes[i] = entry.getKey().hashCode();
+            entriesSize += 8L + keys[i].length + values[i].length;
+            i++;
+        }
+
+        long totalSize = HEADER_SIZE + (long) slotCount * SLOT_SIZE + entriesSize;
+
+        if (Integer.MAX_VALUE < totalSize) {
+            throw new IllegalArgumentException("Too many messages to store: " + totalSize + " bytes");
+        }
+
+        var buffer = direct ? ByteBuffer.allocateDirect((int) totalSize) : ByteBuffer.allocate((int) totalSize);
+
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(size).putInt(slotCount);
+
+        int entriesStart = HEADER_SIZE + slotCount * SLOT_SIZE;
+        int offset = entriesStart;
+
+        for (i = 0; i < size; i++) {
+            int slot = findEmptySlot(buffer, slotCount, hashes[i]);
+
+            buffer.putInt(slot, hashes[i]);
+            buffer.putInt(slot + 4, offset);
+
+            buffer.position(offset);
+            buffer.putInt(keys[i].length).put(keys[i]).putInt(values[i].length).put(values[i]);
+            offset = buffer.position();
+        }
+
+        return buffer.clear();
+    }
+
+    /**
+     * Writes the message table to the file.
+     * <p>
+     * The file is written to the temporary file and then moved, so the file that is opened by {@link #open(Path)}
+     * is not modified while it is used.
+     *
+     * @param messages the messages to write
+     * @param file     the file to write
+     * @throws IOException if I/O error occurred
+     */
+    public static void write(@NotNull Map<String, String> messages, @NotNull Path file) throws IOException {
+        var buffer = toByteBuffer(messages, false);
+        var parent = file.toAbsolutePath().getParent();
+
+        Files.createDirectories(parent);
+
+        var temp = Files.createTempFile(parent, String.valueOf(file.getFileName()), ".tmp");
+
+        try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Opens the message table file as a memory-mapped file.
+     *
+     * @param file the file to open
+     * @return the {@link MessageIndex}
+     * @throws IOException if I/O error occurred or the file is not a message table
+     */
+    public static @NotNull MessageIndex open(@NotNull Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            try {
+                return wrap(buffer);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid message table: " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Creates the {@link MessageIndex} from the {@link ByteBuffer} that is created by {@link #toByteBuffer(Map, boolean)}.
+     *
+     * @param buffer the {@link ByteBuffer}
+     * @return the {@link MessageIndex}
+     * @throws IllegalArgumentException if the buffer is not a message table
+     */
+    public static @NotNull MessageIndex wrap(@NotNull ByteBuffer buffer) {
+        var readOnly = buffer.asReadOnlyBuffer();
+
+        if (readOnly.capacity() < HEADER_SIZE || readOnly.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a message table");
+        }
+
+        if (readOnly.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported format version: " + readOnly.getInt(4));
+        }
+
+        int size = readOnly.getInt(8);
+        int slotCount = readOnly.getInt(12);
+
+        if (Integer.bitCount(slotCount) != 1 || readOnly.capacity() < HEADER_SIZE + (long) slotCount * SLOT_SIZE) {
+            throw new IllegalArgumentException("Broken message table");
+        }
+
+        return new MessageIndex(readOnly, size, slotCount);
+    }
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int slotCount;
+
+    private MessageIndex(@NotNull ByteBuffer buffer, int size, int slotCount) {
+        this.buffer = buffer;
+        this.size = size;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Gets the message of the key.
+     *
+     * @param key the key of the message
+     * @return the message, or {@code null} if not found
+     */
+    public @Nullable String get(@NotNull String key) {
+        int hash = key.hashCode();
+        int mask = slotCount - 1;
+        int index = spread(hash) & mask;
+        byte[] encodedKey = null;
+
+        while (true) {
+            int slot = HEADER_SIZE + index * SLOT_SIZE;
+            int offset = buffer.getInt(slot + 4);
+
+            if (offset == 0) {
+                return null;
+            }
+
+            if (buffer.getInt(slot) == hash) {
+                if (encodedKey == null) {
+                    encodedKey = key.getBytes(StandardCharsets.UTF_8);
+                }
+
+                if (keyEquals(offset, encodedKey)) {
+                    int valueOffset = offset + 4 + encodedKey.length;
+                    return decode(valueOffset + 4, buffer.getInt(valueOffset));
+                }
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Reads all messages and passes them to the consumer.
+     *
+     * @param consumer the consumer of the key and the message
+     */
+    public void forEach(@NotNull BiConsumer<String, String> consumer) {
+        for (int index = 0; index < slotCount; index++) {
+            int offset = buffer.getInt(HEADER_SIZE + index * SLOT_SIZE + 4);
+
+            if (offset != 0) {
+                int keyLength = buffer.getInt(offset);
+                int valueOffset = offset + 4 + keyLength;
+                consumer.accept(decode(offset + 4, keyLength), decode(valueOffset + 4, buffer.getInt(valueOffset)));
+            }
+        }
+    }
+
+    /**
+     * Gets the number of messages.
+     *
+     * @return the number of messages
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the read-only {@link ByteBuffer} that contains this message table.
+     * <p>
+     * The buffer can be written to the file and read by {@link #wrap(ByteBuffer)}.
+     *
+     * @return the read-only {@link ByteBuffer} that contains this message table
+     */
+    public @NotNull ByteBuffer asReadOnlyBuffer() {
+        return buffer.duplicate().clear();
+    }
+
+    /**
+     * Gets the size of the buffer in bytes.
+     *
+     * @return the size of the buffer in bytes
+     */
+    public int byteSize() {
+        return buffer.capacity();
+    }
+
+    private boolean keyEquals(int offset, byte @NotNull [] encodedKey) {
+        if (buffer.getInt(offset) != encodedKey.length) {
+            return false;
+        }
+
+        int start = offset + 4;
+
+        for (int i = 0; i < encodedKey.length; i++) {
+            if (buffer.get(start + i) != encodedKey[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private @NotNull String decode(int offset, int length) {
+        var bytes = new byte[length];
+        buffer.duplicate().position(offset).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int findEmptySlot(@NotNull ByteBuffer buffer, int slotCount, int hash) {
+        int mask = slotCount - 1;
+        int index = spread(hash) & mask;
+
+        while (buffer.getInt(HEADER_SIZE + index * SLOT_SIZE + 4) != 0) {
+            index = (index + 1) & mask;
+        }
+
+        return HEADER_SIZE + index * SLOT_SIZE;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
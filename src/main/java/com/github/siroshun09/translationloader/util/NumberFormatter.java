@@ -0,0 +1,222 @@
+package com.github.siroshun09.translationloader.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class to format numbers for the {@link Locale} without boxing them.
+ * <p>
+ * Digits, separators and signs of each {@link Locale} are taken from {@link NumberFormat#getInstance(Locale)} once and cached,
+ * and numbers are written directly to the {@link StringBuilder}.
+ * The result is the same as {@link NumberFormat#getInstance(Locale)}, including the rounding mode ({@link RoundingMode#HALF_EVEN}).
+ */
+public final class NumberFormatter {
+
+    /**
+     * The default maximum number of fraction digits, which is the same as {@link NumberFormat#getInstance(Locale)}.
+     */
+    public static final int DEFAULT_MAXIMUM_FRACTION_DIGITS = 3;
+
+    private static final int MAX_FRACTION_DIGITS = 6;
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+    private static final double MAX_SCALED_VALUE = 1e18;
+    private static final double TIE_TOLERANCE = 1e-6;
+    private static final Map<Locale, Symbols> SYMBOLS = new ConcurrentHashMap<>();
+
+    private NumberFormatter() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Formats the number for the {@link Locale}.
+     *
+     * @param value  the number to format
+     * @param locale the {@link Locale}
+     * @return the formatted string
+     */
+    public static @NotNull String format(long value, @NotNull Locale locale) {
+        return appendTo(new StringBuilder(24), value, locale).toString();
+    }
+
+    /**
+     * Formats the number for the {@link Locale} with up to {@link #DEFAULT_MAXIMUM_FRACTION_DIGITS} fraction digits.
+     *
+     * @param value  the number to format
+     * @param locale the {@link Locale}
+     * @return the formatted string
+     */
+    public static @NotNull String format(double value, @NotNull Locale locale) {
+        return format(value, DEFAULT_MAXIMUM_FRACTION_DIGITS, locale);
+    }
+
+    /**
+     * Formats the number for the {@link Locale}.
+     *
+     * @param value                 the number to format
+     * @param maximumFractionDigits the maximum number of fraction digits (0 to 6)
+     * @param locale                the {@link Locale}
+     * @return the formatted string
+     */
+    public static @NotNull String format(double value, int maximumFractionDigits, @NotNull Locale locale) {
+        return appendTo(new StringBuilder(32), value, maximumFractionDigits, locale).toString();
+    }
+
+    /**
+     * Appends the formatted number to the {@link StringBuilder}.
+     *
+     * @param builder the {@link StringBuilder} to append to
+     * @param value   the number to format
+     * @param locale  the {@link Locale}
+     * @return the given {@link StringBuilder}
+     */
+    public static @NotNull StringBuilder appendTo(@NotNull StringBuilder builder, long value, @NotNull Locale locale) {
+        var symbols = getSymbols(locale);
+        boolean negative = value < 0;
+
+        builder.append(negative ? symbols.negativePrefix : symbols.positivePrefix);
+        appendInteger(builder, negative ? value : -value, symbols);
+        builder.append(negative ? symbols.negativeSuffix : symbols.positiveSuffix);
+
+        return builder;
+    }
+
+    /**
+     * Appends the formatted number to the {@link StringBuilder}.
+     *
+     * @param builder               the {@link StringBuilder} to append to
+     * @param value                 the number to format
+     * @param maximumFractionDigits the maximum number of fraction digits (0 to 6)
+     * @param locale                the {@link Locale}
+     * @return the given {@link StringBuilder}
+     */
+    public static @NotNull StringBuilder appendTo(@NotNull StringBuilder builder, double value,
+                                                  int maximumFractionDigits, @NotNull Locale locale) {
+        if (maximumFractionDigits < 0 || MAX_FRACTION_DIGITS < maximumFractionDigits) {
+            throw new IllegalArgumentException("maximumFractionDigits must be between 0 and " + MAX_FRACTION_DIGITS);
+        }
+
+        var symbols = getSymbols(locale);
+
+        if (Double.isNaN(value)) {
+            return builder.append(symbols.nan);
+        }
+
+        double abs = Math.abs(value);
+        long scale = POWERS_OF_TEN[maximumFractionDigits];
+
+        if (Double.isInfinite(value) || MAX_SCALED_VALUE <= abs * scale) {
+            // too large to be scaled to long, this is rare enough to use NumberFormat
+            var format = (NumberFormat) symbols.format.clone();
+            format.setMaximumFractionDigits(maximumFractionDigits);
+            return builder.append(format.format(value));
+        }
+
+        long scaled = round(abs, scale);
+        long integer = scaled / scale;
+        long fraction = scaled % scale;
+        boolean negative = Double.compare(value, 0.0) < 0; // NumberFormat keeps the sign of -0
+
+        builder.append(negative ? symbols.negativePrefix : symbols.positivePrefix);
+        appendInteger(builder, -integer, symbols);
+
+        if (fraction != 0) {
+            int digits = maximumFractionDigits;
+
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+
+            builder.append(symbols.decimalSeparator);
+
+            for (long divisor = POWERS_OF_TEN[digits - 1]; 0 < divisor; divisor /= 10) {
+                builder.append((char) (symbols.zeroDigit + (fraction / divisor) % 10));
+            }
+        }
+
+        builder.append(negative ? symbols.negativeSuffix : symbols.positiveSuffix);
+        return builder;
+    }
+
+    /**
+     * Rounds the scaled value half even as {@link NumberFormat} does.
+     * <p>
+     * The multiplication may round the value to the tie or away from it,
+     * so values near the tie are rounded by the exact decimal value of the double.
+     */
+    private static long round(double abs, long scale) {
+        double scaled = abs * scale;
+        double floor = Math.floor(scaled);
+
+        if (TIE_TOLERANCE < Math.abs(scaled - floor - 0.5)) {
+            return (long) Math.rint(scaled);
+        }
+
+        return new BigDecimal(abs).multiply(BigDecimal.valueOf(scale)).setScale(0, RoundingMode.HALF_EVEN).longValue();
+    }
+
+    /**
+     * Writes the integer, which is negated to handle {@link Long#MIN_VALUE}.
+     */
+    private static void appendInteger(@NotNull StringBuilder builder, long negated, @NotNull Symbols symbols) {
+        var digits = new char[19];
+        int count = 0;
+
+        do {
+            digits[count++] = (char) (symbols.zeroDigit - (negated % 10));
+            negated /= 10;
+        } while (negated != 0);
+
+        for (int i = count - 1; 0 <= i; i--) {
+            builder.append(digits[i]);
+
+            if (0 < symbols.groupingSize && 0 < i && i % symbols.groupingSize == 0) {
+                builder.append(symbols.groupingSeparator);
+            }
+        }
+    }
+
+    private static @NotNull Symbols getSymbols(@NotNull Locale locale) {
+        var symbols = SYMBOLS.get(locale);
+        return symbols != null ? symbols : SYMBOLS.computeIfAbsent(locale, Symbols::new);
+    }
+
+    private static final class Symbols {
+
+        private final NumberFormat format;
+        private final char zeroDigit;
+        private final char groupingSeparator;
+        private final char decimalSeparator;
+        private final int groupingSize;
+        private final String positivePrefix;
+        private final String positiveSuffix;
+        private final String negativePrefix;
+        private final String negativeSuffix;
+        private final String nan;
+
+        private Symbols(@NotNull Locale locale) {
+            this.format = NumberFormat.getInstance(locale);
+
+            var decimalFormat = format instanceof DecimalFormat ? (DecimalFormat) format : null;
+            var symbols = decimalFormat != null ? decimalFormat.getDecimalFormatSymbols() : DecimalFormatSymbols.getInstance(locale);
+
+            this.zeroDigit = symbols.getZeroDigit();
+            this.groupingSeparator = symbols.getGroupingSeparator();
+            this.decimalSeparator = symbols.getDecimalSeparator();
+            this.groupingSize = format.isGroupingUsed() ? (decimalFormat != null ? decimalFormat.getGroupingSize() : 3) : 0;
+            this.positivePrefix = decimalFormat != null ? decimalFormat.getPositivePrefix() : "";
+            this.positiveSuffix = decimalFormat != null ? decimalFormat.getPositiveSuffix() : "";
+            this.negativePrefix = decimalFormat != null ? decimalFormat.getNegativePrefix() : String.valueOf(symbols.getMinusSign());
+            this.negativeSuffix = decimalFormat != null ? decimalFormat.getNegativeSuffix() : "";
+            this.nan = symbols.getNaN();
+        }
+    }
+}
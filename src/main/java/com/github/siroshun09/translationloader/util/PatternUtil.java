@@ -0,0 +1,47 @@
+package com.github.siroshun09.translationloader.util;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A utility class to scan patterns of {@link java.text.MessageFormat}.
+ */
+public final class PatternUtil {
+
+    private PatternUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Finds the end of the format element.
+     * <p>
+     * Nested braces (e.g. sub-patterns of {@code choice}) and quoted parts are skipped.
+     *
+     * @param pattern the pattern to scan
+     * @param start   the index after the opening brace of the format element
+     * @return the index of the closing brace, or {@code -1} if the format element is not closed
+     */
+    public static int findElementEnd(@NotNull String pattern, int start) {
+        int depth = 0;
+        boolean quoted = false;
+
+        for (int i = start, length = pattern.length(); i < length; i++) {
+            char c = pattern.charAt(i);
+
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted) {
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}') {
+                    if (depth == 0) {
+                        return i;
+                    }
+
+                    depth--;
+                }
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.argument.BatchRenderer;
+import com.github.siroshun09.translationloader.argument.IntArgument;
+import com.github.siroshun09.translationloader.argument.SingleArgument;
+import com.github.siroshun09.translationloader.util.NumberFormatter;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.TranslationRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BatchRendererTest {
+
+    private static final SingleArgument<String> GREETING =
+            name -> Component.translatable("batch-renderer-test.greeting", Component.text(name));
+
+    @Test
+    void testRenderOncePerLocale() {
+        var registry = TranslationRegistry.create(Key.key("translationloader", "batch-renderer-test"));
+        registry.register("batch-renderer-test.greeting", Locale.ENGLISH, new MessageFormat("Hello, {0}"));
+        registry.register("batch-renderer-test.greeting", Locale.JAPANESE, new MessageFormat("こんにちは、{0}"));
+
+        var translatableRenderer = TranslatableComponentRenderer.usingTranslationSource(registry);
+        var count = new AtomicInteger();
+
+        var locales = new ArrayList<Locale>();
+        locales.addAll(Collections.nCopies(1000, Locale.ENGLISH));
+        locales.addAll(Collections.nCopies(1000, Locale.JAPANESE));
+
+        Map<Locale, Component> result = BatchRenderer.render(GREETING.apply("Steve"), locales, (component, locale) -> {
+            count.incrementAndGet();
+            return translatableRenderer.render(component, locale);
+        });
+
+        Assertions.assertEquals(2, count.get());
+        Assertions.assertEquals("Hello, Steve", plain(result.get(Locale.ENGLISH)));
+        Assertions.assertEquals("こんにちは、Steve", plain(result.get(Locale.JAPANESE)));
+    }
+
+    @Test
+    void testRenderInParallel() {
+        var locales = Stream.of(Locale.getAvailableLocales())
+                .filter(locale -> !locale.toString().isEmpty())
+                .collect(Collectors.toList());
+        var registry = createRegistry(locales);
+
+        GlobalTranslator.get().addSource(registry);
+
+        try {
+            var result = GREETING.renderAll("Alex", locales);
+
+            Assertions.assertEquals(locales.size(), result.size());
+
+            for (var locale : locales) {
+                Assertions.assertEquals(locale + ": Alex", plain(result.get(locale)));
+            }
+        } finally {
+            GlobalTranslator.get().removeSource(registry);
+        }
+    }
+
+    @Test
+    void testRenderEachLocale() {
+        var count = new AtomicInteger();
+        var argument = (IntArgument) (value, locale) -> {
+            count.incrementAndGet();
+            return Component.text(NumberFormatter.format(value, locale));
+        };
+
+        var locales = new ArrayList<Locale>();
+        locales.addAll(Collections.nCopies(1000, Locale.US));
+        locales.addAll(Collections.nCopies(1000, Locale.GERMANY));
+
+        var result = argument.renderAll(1234567, locales);
+
+        Assertions.assertEquals(2, count.get());
+        Assertions.assertEquals("1,234,567", plain(result.get(Locale.US)));
+        Assertions.assertEquals("1.234.567", plain(result.get(Locale.GERMANY)));
+    }
+
+    private static TranslationRegistry createRegistry(List<Locale> locales) {
+        var registry = TranslationRegistry.create(Key.key("translationloader", "batch-renderer-global-test"));
+
+        for (var locale : locales) {
+            registry.register("batch-renderer-test.greeting", locale, new MessageFormat("'" + locale + "': {0}"));
+        }
+
+        return registry;
+    }
+
+    private static String plain(Component component) {
+        var builder = new StringBuilder();
+        append(builder, component);
+        return builder.toString();
+    }
+
+    private static void append(StringBuilder builder, Component component) {
+        if (component instanceof TextComponent) {
+            builder.append(((TextComponent) component).content());
+        }
+
+        component.children().forEach(child -> append(builder, child));
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.util.CompactMessageMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class CompactMessageMapTest {
+
+    @Test
+    void testEmptyMap() {
+        var map = CompactMessageMap.copyOf(Map.of());
+
+        Assertions.assertTrue(map.isEmpty());
+        Assertions.assertNull(map.get("a"));
+        Assertions.assertFalse(map.containsKey("a"));
+        Assertions.assertFalse(map.entrySet().iterator().hasNext());
+        Assertions.assertEquals(Map.of(), map);
+        Assertions.assertEquals(0, map.hashCode());
+    }
+
+    @Test
+    void testSingleEntry() {
+        var map = CompactMessageMap.copyOf(Map.of("a", "b"));
+
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertEquals("b", map.get("a"));
+        Assertions.assertNull(map.get("b"));
+        Assertions.assertNull(map.get(1));
+        Assertions.assertEquals("c", map.getOrDefault("b", "c"));
+        Assertions.assertEquals(Map.of("a", "b"), map);
+    }
+
+    @Test
+    void testCollisions() {
+        // "Aa" and "BB", and their concatenations, have the same hash code
+        Assertions.assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        var source = new HashMap<String, String>();
+
+        for (var first : new String[]{"Aa", "BB"}) {
+            for (var second : new String[]{"Aa", "BB"}) {
+                for (var third : new String[]{"Aa", "BB"}) {
+                    source.put(first + second + third, third + second + first);
+                }
+            }
+        }
+
+        var map = CompactMessageMap.copyOf(source);
+
+        Assertions.assertEquals(8, map.size());
+        source.forEach((key, value) -> Assertions.assertEquals(value, map.get(key), key));
+        Assertions.assertNull(map.get("AaAaBBBB"));
+        Assertions.assertEquals(source, map);
+    }
+
+    @Test
+    void testProbing() {
+        var source = new HashMap<String, String>();
+
+        for (int i = 0; i < 10_000; i++) {
+            source.put("key." + i, "value " + i);
+        }
+
+        var map = CompactMessageMap.copyOf(source);
+
+        Assertions.assertEquals(source.size(), map.size());
+
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertEquals("value " + i, map.get("key." + i));
+            Assertions.assertNull(map.get("missing." + i));
+        }
+
+        var iterated = new HashMap<String, String>();
+        map.forEach(iterated::put);
+        Assertions.assertEquals(source, iterated);
+    }
+
+    @Test
+    void testEquality() {
+        var source = new HashMap<String, String>();
+
+        for (int i = 0; i < 100; i++) {
+            source.put("key." + i, "value " + i);
+        }
+
+        var map = CompactMessageMap.copyOf(source);
+
+        Assertions.assertEquals(source, map);
+        Assertions.assertEquals(map, source);
+        Assertions.assertEquals(source.hashCode(), map.hashCode());
+        Assertions.assertEquals(source.entrySet(), map.entrySet());
+        Assertions.assertSame(map, CompactMessageMap.copyOf(map));
+
+        source.put("key.0", "changed");
+        Assertions.assertNotEquals(source, map);
+        Assertions.assertNotEquals(map, source);
+    }
+
+    @Test
+    void testImmutability() {
+        var source = new HashMap<>(Map.of("a", "b", "c", "d"));
+        var map = CompactMessageMap.copyOf(source);
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> map.put("e", "f"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+        Assertions.assertThrows(UnsupportedOperationException.class, map::clear);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().next().setValue("g"));
+
+        var iterator = map.entrySet().iterator();
+        iterator.next();
+        Assertions.assertThrows(UnsupportedOperationException.class, iterator::remove);
+
+        source.put("a", "changed");
+        Assertions.assertEquals("b", map.get("a"));
+    }
+
+    @Test
+    void testNullValues() {
+        var source = new HashMap<String, String>();
+        source.put("a", null);
+
+        Assertions.assertThrows(NullPointerException.class, () -> CompactMessageMap.copyOf(source));
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.argument.SingleArgument;
+import com.github.siroshun09.translationloader.directory.TranslationDirectory;
+import com.github.siroshun09.translationloader.util.ComponentTemplate;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+public class ComponentTemplateTest {
+
+    @Test
+    void testParsing() {
+        var template = ComponentTemplate.parse("&aHello, &l{0}&r! It''s '{'ok'}' &#ff8800{1}", true);
+
+        var expected = Component.text()
+                .append(Component.text("Hello, ", NamedTextColor.GREEN))
+                .append(Component.text().style(Style.style(NamedTextColor.GREEN, TextDecoration.BOLD)).append(Component.text("Steve")))
+                .append(Component.text("! It's {ok} "))
+                .append(Component.text().style(Style.style(TextColor.color(0xff8800))).append(Component.text("{1}")))
+                .build();
+
+        Assertions.assertEquals(expected, template.apply(Component.text("Steve")));
+    }
+
+    @Test
+    void testConstantTemplate() {
+        var template = ComponentTemplate.parse("§cError", true);
+
+        Assertions.assertEquals(Component.text("Error", NamedTextColor.RED), template.apply());
+        Assertions.assertSame(template.apply(), template.apply());
+    }
+
+    @Test
+    void testLiteralAmpersand() {
+        // legacy formatting codes are not parsed unless enabled
+        Assertions.assertEquals(Component.text("R&D"), ComponentTemplate.parse("R&D").apply());
+        Assertions.assertEquals(Component.text("&aGreen §lbold"), ComponentTemplate.parse("&aGreen §lbold").apply());
+        // "&D" is a color code if enabled
+        Assertions.assertEquals(Component.text("R"), ComponentTemplate.parse("R&D", true).apply());
+
+        var builder = TranslationDirectory.newBuilder()
+                .setDirectory(Path.of("component-template-test"))
+                .setKey(Key.key("translationloader", "component-template-test"))
+                .setLegacyFormattingEnabled(true);
+        Assertions.assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    void testUnsupportedPlaceholder() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ComponentTemplate.parse("{0,number}"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ComponentTemplate.parse("{0"));
+    }
+
+    @Test
+    void testTemplateRenderer() throws IOException {
+        var path = Path.of("component-template-test");
+        Files.createDirectories(path);
+        Files.writeString(path.resolve("en.json"), "{\"greeting\": \"&eHello, {0}\", \"count\": \"{0,number} coins\"}");
+
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(path)
+                .setKey(Key.key("translationloader", "component-template-test"))
+                .setComponentTemplatesEnabled(true)
+                .setLegacyFormattingEnabled(true)
+                .build();
+
+        try {
+            directory.load();
+
+            SingleArgument<String> greeting = name -> Component.translatable("greeting", Component.text(name));
+            var renderer = directory.getTemplateRenderer();
+
+            var expected = Component.text()
+                    .append(Component.text().append(Component.text("Hello, ", NamedTextColor.YELLOW))
+                            .append(Component.text().style(Style.style(NamedTextColor.YELLOW)).append(Component.text("Alex"))))
+                    .build();
+
+            Assertions.assertEquals(expected, renderer.render(greeting.apply("Alex"), Locale.ENGLISH));
+
+            // messages with the format type are rendered by MessageFormat
+            var count = renderer.render(Component.translatable("count", Component.text(10)), Locale.ENGLISH);
+            Assertions.assertEquals(Component.text().append(Component.text(10), Component.text(" coins")).build(), count);
+        } finally {
+            directory.unload();
+
+            try (Stream<Path> files = Files.walk(path)) {
+                for (var file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
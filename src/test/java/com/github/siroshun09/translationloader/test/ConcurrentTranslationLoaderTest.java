@@ -0,0 +1,130 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.AbstractTranslationLoader;
+import com.github.siroshun09.translationloader.ConcurrentTranslationLoader;
+import com.github.siroshun09.translationloader.JsonFileLoader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentTranslationLoaderTest {
+
+    private static final Path JSON_PATH = Path.of("en_US.json");
+    private static final int MESSAGES = 1000;
+
+    @BeforeAll
+    static void prepareFile() throws IOException {
+        var builder = new StringBuilder("{\"v\": \"1\"");
+
+        for (int i = 0; i < MESSAGES; i++) {
+            builder.append(", \"key-").append(i).append("\": \"value-").append(i).append('"');
+        }
+
+        Files.writeString(JSON_PATH, builder.append('}'));
+    }
+
+    @Test
+    void testReadingWhileLoading() throws Exception {
+        var loader = ConcurrentTranslationLoader.wrap(JsonFileLoader.create(JSON_PATH));
+
+        Assertions.assertFalse(loader.isLoaded());
+        Assertions.assertTrue(loader.getMessageMap().isEmpty());
+
+        loader.load();
+
+        var running = new AtomicBoolean(true);
+        var failures = new AtomicInteger();
+
+        var reader = new Thread(() -> {
+            while (running.get()) {
+                if (!loader.isLoaded() || loader.getMessageMap().size() != MESSAGES) {
+                    failures.incrementAndGet();
+                }
+            }
+        });
+
+        reader.start();
+
+        for (int i = 0; i < 50; i++) {
+            loader.load();
+        }
+
+        running.set(false);
+        reader.join();
+
+        Assertions.assertEquals(0, failures.get());
+        Assertions.assertEquals("1", loader.getVersion());
+    }
+
+    @Test
+    void testReadingPlainLoaderWhileLoading() throws Exception {
+        var loader = JsonFileLoader.create(JSON_PATH);
+
+        loader.load();
+
+        var running = new AtomicBoolean(true);
+        var failures = new AtomicInteger();
+
+        var reader = new Thread(() -> {
+            while (running.get()) {
+                var map = loader.getMessageMap();
+
+                if (map.size() != MESSAGES || !"value-0".equals(map.get("key-0"))) {
+                    failures.incrementAndGet();
+                }
+            }
+        });
+
+        reader.start();
+
+        for (int i = 0; i < 50; i++) {
+            loader.load();
+        }
+
+        running.set(false);
+        reader.join();
+
+        Assertions.assertEquals(0, failures.get());
+    }
+
+    @Test
+    void testSubclassWithoutFreeze() throws IOException {
+        // subclasses written before freeze() was added only fill the map and set the state
+        var loader = new AbstractTranslationLoader(Locale.ENGLISH) {
+            @Override
+            public void load() {
+                setLoaded(false);
+                getModifiableMessageMap().put("a", "b");
+                setLoaded(true);
+            }
+
+            @Override
+            public void save() {
+            }
+        };
+
+        loader.load();
+        Assertions.assertEquals(Map.of("a", "b"), loader.getMessageMap());
+
+        var other = JsonFileLoader.create(JSON_PATH);
+        other.load();
+        loader.merge(other);
+
+        Assertions.assertTrue(loader.isModified());
+        Assertions.assertEquals(MESSAGES + 1, loader.getMessageMap().size());
+    }
+
+    @AfterAll
+    static void deleteFile() throws IOException {
+        Files.deleteIfExists(JSON_PATH);
+    }
+}
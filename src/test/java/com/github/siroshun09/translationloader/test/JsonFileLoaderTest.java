@@ -0,0 +1,126 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.JsonFileLoader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class JsonFileLoaderTest {
+
+    private static final Path JSON_PATH = Path.of("ja_JP.json");
+    private static final Path COMPRESSED_JSON_PATH = Path.of("ja_JP.json.gz");
+    private static final Path TEST_DIRECTORY = Path.of("json-file-loader-test");
+
+    private static final String JSON =
+            "{\"v\": \"1.0.0\", \"sample-key\": \"1\", \"example\": {\"text\": \"a\\\"b\\u3042\", \"integer\": 100, \"bool\": true}}";
+
+    private static final Map<String, String> EXPECTED_MESSAGE_MAP =
+            Map.of("sample-key", "1", "example.text", "a\"bあ", "example.integer", "100", "example.bool", "true");
+
+    @BeforeAll
+    static void prepareFile() throws IOException {
+        Files.writeString(JSON_PATH, JSON);
+    }
+
+    @Test
+    void testLoadingAndSavingCompressed() throws IOException {
+        var loader = JsonFileLoader.create(JSON_PATH);
+
+        loader.load();
+
+        Assertions.assertTrue(loader.isLoaded());
+        Assertions.assertEquals(Locale.JAPAN, loader.getLocale());
+        Assertions.assertEquals("1.0.0", loader.getVersion());
+        Assertions.assertEquals(EXPECTED_MESSAGE_MAP, loader.getMessageMap());
+
+        var compressed = JsonFileLoader.create(COMPRESSED_JSON_PATH);
+
+        compressed.load();
+        compressed.merge(loader);
+        compressed.setVersion(loader.getVersion());
+
+        Assertions.assertTrue(compressed.isModified());
+
+        compressed.save();
+
+        var reloaded = JsonFileLoader.create(COMPRESSED_JSON_PATH);
+
+        reloaded.load();
+
+        Assertions.assertEquals("1.0.0", reloaded.getVersion());
+        Assertions.assertEquals(EXPECTED_MESSAGE_MAP, reloaded.getMessageMap());
+    }
+
+    @Test
+    void testStrictGrammar() throws IOException {
+        var file = TEST_DIRECTORY.resolve("en.json");
+        Files.createDirectories(TEST_DIRECTORY);
+
+        Files.writeString(file, "{\"a\": -0.5e+10, \"b\": 0, \"c\": 12E3, \"d\": \"\\u00e9\\u00C9\"}");
+        var loader = JsonFileLoader.create(file);
+        loader.load();
+        Assertions.assertEquals(Map.of("a", "-0.5e+10", "b", "0", "c", "12E3", "d", "éÉ"), loader.getMessageMap());
+
+        var invalidJsons = List.of(
+                "{\"a\": \"\\u+04A\"}", "{\"a\": \"\\u-04A\"}", "{\"a\": \"\\u04\"}", "{\"a\": \"\\u04G0\"}",
+                "{\"a\": --1e}", "{\"a\": +1}", "{\"a\": 01}", "{\"a\": 1.}", "{\"a\": .5}", "{\"a\": 1e}", "{\"a\": 1e+}", "{\"a\": -}"
+        );
+
+        for (var json : invalidJsons) {
+            Files.writeString(file, json);
+            Assertions.assertThrows(IOException.class, JsonFileLoader.create(file)::load, json);
+        }
+    }
+
+    @Test
+    void testSavingAtomically() throws IOException {
+        var file = TEST_DIRECTORY.resolve("fr.json");
+        Files.createDirectories(TEST_DIRECTORY);
+        Files.writeString(file, "{\"a\": \"old\"}");
+
+        var source = JsonFileLoader.create(JSON_PATH);
+        source.load();
+
+        var loader = JsonFileLoader.create(file);
+        loader.load();
+        loader.merge(source);
+        loader.setVersion(source.getVersion());
+        loader.save();
+
+        var reloaded = JsonFileLoader.create(file);
+        reloaded.load();
+
+        Assertions.assertEquals("1.0.0", reloaded.getVersion());
+        Assertions.assertEquals("old", reloaded.getMessageMap().get("a"));
+        Assertions.assertEquals(EXPECTED_MESSAGE_MAP.size() + 1, reloaded.getMessageMap().size());
+
+        // the file is written to the temporary file and moved, and the temporary file is not left
+        try (var files = Files.list(TEST_DIRECTORY)) {
+            Assertions.assertTrue(files.noneMatch(path -> path.toString().endsWith(".tmp")));
+        }
+    }
+
+    @AfterAll
+    static void deleteFile() throws IOException {
+        Files.deleteIfExists(JSON_PATH);
+        Files.deleteIfExists(COMPRESSED_JSON_PATH);
+
+        if (Files.exists(TEST_DIRECTORY)) {
+            try (var files = Files.list(TEST_DIRECTORY)) {
+                for (var file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+
+            Files.delete(TEST_DIRECTORY);
+        }
+    }
+}
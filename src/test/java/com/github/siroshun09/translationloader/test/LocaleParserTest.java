@@ -0,0 +1,69 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.util.LocaleParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Locale;
+
+public class LocaleParserTest {
+
+    @Test
+    void testParsing() {
+        Assertions.assertEquals(Locale.ENGLISH, LocaleParser.parse("en"));
+        Assertions.assertEquals(Locale.US, LocaleParser.parse("en_US"));
+        Assertions.assertEquals(Locale.US, LocaleParser.parse("en-us"));
+        Assertions.assertEquals(new Locale("en", "US", "POSIX"), LocaleParser.parse("en_US_POSIX"));
+        Assertions.assertEquals(Locale.JAPAN, LocaleParser.fromFileName(Path.of("ja_JP.json.gz")));
+        Assertions.assertEquals(Locale.forLanguageTag("zh-Hant-TW"), LocaleParser.parse("zh-Hant-TW"));
+        Assertions.assertEquals("Hant", LocaleParser.fromFileName(Path.of("zh-Hant-TW.yml")).getScript());
+        Assertions.assertEquals("TW", LocaleParser.parse("zh-Hant-TW").getCountry());
+        Assertions.assertEquals(Locale.forLanguageTag("sr-Latn"), LocaleParser.parse("sr-latn"));
+        Assertions.assertNull(LocaleParser.parse(""));
+        Assertions.assertNull(LocaleParser.fromFileName(Path.of(".yml")));
+    }
+
+    @Test
+    void testCanonicalInstance() {
+        Assertions.assertSame(Locale.US, LocaleParser.parse("en_US"));
+        Assertions.assertSame(Locale.US, LocaleParser.parse("en-US"));
+        Assertions.assertSame(Locale.JAPAN, LocaleParser.parse("ja_jp"));
+        Assertions.assertSame(LocaleParser.parse("xx_YY"), LocaleParser.parse("xx_YY"));
+    }
+
+    @Test
+    void testNoAllocationOnCacheHit() {
+        var mxBean = ManagementFactory.getThreadMXBean();
+
+        if (!(mxBean instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+
+        var threadMXBean = (com.sun.management.ThreadMXBean) mxBean;
+        long threadId = Thread.currentThread().getId();
+        var input = "en_us";
+
+        // warm up the cache and the JIT compiler
+        for (int i = 0; i < 100_000; i++) {
+            LocaleParser.parse(input);
+        }
+
+        long overhead = measure(threadMXBean, threadId, input, 0);
+        long allocated = measure(threadMXBean, threadId, input, 1_000_000);
+
+        // the measurement itself may allocate a few bytes, but parsing must not
+        Assertions.assertTrue(allocated - overhead < 1024, () -> "allocated " + (allocated - overhead) + " bytes");
+    }
+
+    private static long measure(com.sun.management.ThreadMXBean threadMXBean, long threadId, String input, int iterations) {
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < iterations; i++) {
+            LocaleParser.parse(input);
+        }
+
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+}
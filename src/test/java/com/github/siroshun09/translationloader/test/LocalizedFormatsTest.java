@@ -0,0 +1,103 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.util.LocalizedFormats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+public class LocalizedFormatsTest {
+
+    private static final List<String> PATTERNS = List.of(
+            "plain {0} text",
+            "{0,number} coins",
+            "{0,number,integer} / {0,number,percent} / {0, number , currency}",
+            "{1,date} {1,date,short} {1,time,long}",
+            "{0,number,#.##} and '{0,number}' and it''s {0,number}",
+            "{0,choice,0#none|1#one|1<{0,number} items}"
+    );
+
+    @Test
+    void testSameAsMessageFormat() {
+        var args = new Object[]{1234.567, new Date(1_600_000_000_000L)};
+
+        for (var locale : List.of(Locale.US, Locale.GERMANY, Locale.JAPAN)) {
+            for (var pattern : PATTERNS) {
+                var expected = new MessageFormat(pattern, locale);
+                var actual = LocalizedFormats.createMessageFormat(pattern, locale);
+
+                Assertions.assertEquals(expected.format(args), actual.format(args), pattern);
+                Assertions.assertEquals(expected.toPattern(), actual.toPattern(), pattern);
+                Assertions.assertEquals(actual, LocalizedFormats.createMessageFormat(pattern, locale), pattern);
+            }
+        }
+    }
+
+    @Test
+    void testSharedFormats() {
+        var first = LocalizedFormats.createMessageFormat("{0,number} coins", Locale.GERMANY);
+        var second = LocalizedFormats.createMessageFormat("{0,number} items", Locale.GERMANY);
+
+        Assertions.assertSame(first.getFormats()[0], second.getFormats()[0]);
+        Assertions.assertSame(LocalizedFormats.getNumberFormat(Locale.GERMANY, null), first.getFormats()[0]);
+        Assertions.assertSame(LocalizedFormats.getDateFormat(Locale.GERMANY, "short"), LocalizedFormats.getDateFormat(Locale.GERMANY, " Short "));
+
+        // formats of patterns are not cached, as the number of patterns is not limited
+        var pattern = LocalizedFormats.getNumberFormat(Locale.GERMANY, "#.##");
+        Assertions.assertNotSame(pattern, LocalizedFormats.getNumberFormat(Locale.GERMANY, "#.##"));
+        Assertions.assertEquals("1,23", pattern.format(1.234));
+    }
+
+    @Test
+    void testEquality() {
+        var shared = LocalizedFormats.createMessageFormat("{0,number} coins", Locale.US);
+        var plain = new MessageFormat("{0,number} coins", Locale.US);
+        var format = LocalizedFormats.getNumberFormat(Locale.US, null);
+
+        Assertions.assertEquals(shared.equals(plain), plain.equals(shared));
+        Assertions.assertEquals(format.equals(NumberFormat.getInstance(Locale.US)), NumberFormat.getInstance(Locale.US).equals(format));
+        Assertions.assertEquals(shared, LocalizedFormats.createMessageFormat("{0,number} coins", Locale.US));
+        Assertions.assertEquals(shared.hashCode(), LocalizedFormats.createMessageFormat("{0,number} coins", Locale.US).hashCode());
+    }
+
+    @Test
+    void testSerialization() throws Exception {
+        var original = LocalizedFormats.createMessageFormat("{0,number} coins at {1,time,short}", Locale.US);
+        var bytes = new ByteArrayOutputStream();
+
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(original);
+        }
+
+        MessageFormat deserialized;
+
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (MessageFormat) in.readObject();
+        }
+
+        var args = new Object[]{1234.5, new Date(1_600_000_000_000L)};
+
+        Assertions.assertEquals(original.format(args), deserialized.format(args));
+        Assertions.assertEquals(original.toPattern(), deserialized.toPattern());
+        Assertions.assertEquals(original, deserialized);
+    }
+
+    @Test
+    void testConcurrentFormatting() {
+        var format = LocalizedFormats.getNumberFormat(Locale.US, null);
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> {
+            var expected = String.format(Locale.US, "%,d.5", i);
+            Assertions.assertEquals(expected, format.format(i + 0.5));
+        });
+    }
+}
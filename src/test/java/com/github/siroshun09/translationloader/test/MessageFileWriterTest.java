@@ -0,0 +1,81 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.util.MessageFileWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+
+public class MessageFileWriterTest {
+
+    private static final Map<String, String> MESSAGES = Map.of(
+            "v", "1.0",
+            "example.text", "abc",
+            "example.bool", "true",
+            "example-key", "&aHello, {0}",
+            "sample", "Line 1\nLine \"2\"",
+            "sample.child", "conflict",
+            "日本語", "こんにちは"
+    );
+
+    @Test
+    void testYaml() throws IOException {
+        var writer = new StringWriter();
+        MessageFileWriter.writeYaml(MESSAGES, writer);
+
+        var expected = "example:\n" +
+                "  bool: \"true\"\n" +
+                "  text: abc\n" +
+                "example-key: \"&aHello, {0}\"\n" +
+                "sample: \"Line 1\\nLine \\\"2\\\"\"\n" +
+                "\"sample.child\": conflict\n" +
+                "v: \"1.0\"\n" +
+                "日本語: こんにちは\n";
+
+        Assertions.assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    void testYamlSections() {
+        Assertions.assertTrue(MessageFileWriter.canWriteYamlSections(Map.of("a.b", "1", "a.c", "2", "b", "3", "a-b.c", "4")));
+        Assertions.assertFalse(MessageFileWriter.canWriteYamlSections(MESSAGES));
+        Assertions.assertFalse(MessageFileWriter.canWriteYamlSections(Map.of("a..b", "1")));
+        Assertions.assertFalse(MessageFileWriter.canWriteYamlSections(Map.of(".a", "1")));
+        Assertions.assertFalse(MessageFileWriter.canWriteYamlSections(Map.of("a.", "1")));
+        Assertions.assertTrue(MessageFileWriter.canWriteYamlSections(Map.of()));
+    }
+
+    @Test
+    void testProperties() throws IOException {
+        var writer = new StringWriter();
+        MessageFileWriter.writeProperties(Map.of("a key", " value=1", "b", "日本語"), writer);
+
+        Assertions.assertEquals("a\\ key=\\ value=1\nb=\\u65e5\\u672c\\u8a9e\n", writer.toString());
+
+        writer = new StringWriter();
+        MessageFileWriter.writeProperties(MESSAGES, writer);
+
+        var properties = new Properties();
+        properties.load(new StringReader(writer.toString()));
+
+        Assertions.assertEquals(MESSAGES, properties);
+    }
+
+    @Test
+    void testWritingFile() throws IOException {
+        var file = Path.of("message-file-writer-test.yml");
+
+        try {
+            MessageFileWriter.writeYaml(Map.of("a.b", "c"), file);
+            Assertions.assertEquals("a:\n  b: c\n", Files.readString(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.argument.IntArgument;
+import com.github.siroshun09.translationloader.util.NumberFormatter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.text.NumberFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+public class NumberFormatterTest {
+
+    private static final List<Locale> LOCALES = List.of(
+            Locale.ENGLISH, Locale.US, Locale.GERMANY, Locale.FRANCE, Locale.JAPAN,
+            new Locale("de", "CH"), new Locale("ar", "EG"), new Locale("hi", "IN")
+    );
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+
+    @Test
+    void testFormatLong() {
+        var values = new long[]{0, 7, -7, 999, 1000, -1234567, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE};
+
+        for (var locale : LOCALES) {
+            var expected = NumberFormat.getInstance(locale);
+
+            for (var value : values) {
+                Assertions.assertEquals(expected.format(value), NumberFormatter.format(value, locale), locale + ": " + value);
+            }
+        }
+    }
+
+    @Test
+    void testFormatDouble() {
+        var values = new double[]{0, 0.1, -0.25, 1.0, 1234.5678, -98765.4321, 0.0004, -0.0004, 1e20, Double.NaN};
+
+        for (var locale : LOCALES) {
+            var expected = NumberFormat.getInstance(locale);
+
+            for (var value : values) {
+                Assertions.assertEquals(expected.format(value), NumberFormatter.format(value, locale), locale + ": " + value);
+            }
+        }
+    }
+
+    @Test
+    void testRounding() {
+        // NumberFormat rounds half even by the exact value of the double
+        var values = new double[]{0.5, 1.5, 2.5, -2.5, 3.5, 0.0625, 0.125, 1.0005, 1.005, 2.675, 0.1235, 1234.5675};
+        var format = NumberFormat.getInstance(Locale.US);
+
+        Assertions.assertEquals("2", NumberFormatter.format(2.5, 0, Locale.US));
+        Assertions.assertEquals("0.062", NumberFormatter.format(0.0625, Locale.US));
+
+        for (int digits = 0; digits <= 6; digits++) {
+            format.setMaximumFractionDigits(digits);
+
+            for (var value : values) {
+                Assertions.assertEquals(format.format(value), NumberFormatter.format(value, digits, Locale.US), digits + ": " + value);
+            }
+        }
+
+        var random = new Random(0);
+
+        for (int i = 0; i < 100_000; i++) {
+            int digits = random.nextInt(7);
+            // values with few decimal digits are often near ties
+            double value = (random.nextInt(2_000_000) - 1_000_000) / (double) POWERS_OF_TEN[random.nextInt(POWERS_OF_TEN.length)];
+
+            format.setMaximumFractionDigits(digits);
+            Assertions.assertEquals(format.format(value), NumberFormatter.format(value, digits, Locale.US), digits + ": " + value);
+        }
+    }
+
+    @Test
+    void testIntArgument() {
+        var argument = IntArgument.translatable("coins");
+        var component = (TranslatableComponent) argument.apply(1234567, Locale.GERMANY);
+
+        Assertions.assertEquals("coins", component.key());
+        Assertions.assertEquals(List.of(Component.text("1.234.567")), component.args());
+    }
+}
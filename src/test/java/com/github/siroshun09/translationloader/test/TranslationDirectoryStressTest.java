@@ -0,0 +1,291 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.directory.TranslationDirectory;
+import com.github.siroshun09.translationloader.directory.TranslationDirectoryBuilder;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Renders messages from many threads while {@link TranslationDirectory} is reloaded.
+ * <p>
+ * The duration of each test can be changed by the system property {@code translationloader.stress-test.millis}.
+ */
+public class TranslationDirectoryStressTest {
+
+    private static final Path DIRECTORY = Path.of("translation-directory-stress-test");
+    private static final Key KEY = Key.key("translationloader", "stress-test");
+    private static final long DURATION_MILLIS = Long.getLong("translationloader.stress-test.millis", 1000);
+    private static final int LOCALE_COUNT = 24;
+    private static final int KEY_COUNT = 200;
+    private static final int RENDER_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+    private static final List<Locale> LOCALES = new ArrayList<>();
+
+    @BeforeAll
+    static void generateDirectory() throws IOException {
+        Stream.of(Locale.getAvailableLocales())
+                .filter(locale -> !locale.getCountry().isEmpty() && locale.getVariant().isEmpty() && locale.getScript().isEmpty())
+                .filter(locale -> locale.getLanguage().length() == 2 && locale.getCountry().length() == 2)
+                .sorted(Comparator.comparing(Locale::toString))
+                .limit(LOCALE_COUNT)
+                .forEach(LOCALES::add);
+
+        for (var locale : LOCALES) {
+            // the half of messages are in the locale file, and the others are in the shard
+            writeMessages(DIRECTORY.resolve(locale + ".json"), locale, 0, KEY_COUNT / 2, 0);
+            writeMessages(DIRECTORY.resolve(locale.toString()).resolve("shard.json"), locale, KEY_COUNT / 2, KEY_COUNT, 0);
+        }
+    }
+
+    @Test
+    void testReloadingWhileRendering(@NotNull TestReporter reporter) throws Exception {
+        runStressTest(reporter, "default", builder -> {
+        });
+    }
+
+    @Test
+    void testReloadingWhileRenderingWithLazyLoading(@NotNull TestReporter reporter) throws Exception {
+        runStressTest(reporter, "lazy loading", builder -> builder.setLazyLoading(true));
+    }
+
+    @Test
+    void testReloadingWhileRenderingWithOffHeapStorage(@NotNull TestReporter reporter) throws Exception {
+        runStressTest(reporter, "off-heap storage", builder -> builder.setOffHeapStorage(true).setCacheSize(64 * 1024));
+    }
+
+    private static void runStressTest(@NotNull TestReporter reporter, @NotNull String name, @NotNull Consumer<TranslationDirectoryBuilder> configurator) throws Exception {
+        var builder = TranslationDirectory.newBuilder().setDirectory(DIRECTORY).setKey(KEY);
+        configurator.accept(builder);
+
+        var directory = builder.build();
+        directory.load();
+
+        var running = new AtomicBoolean(true);
+        var reloading = new AtomicBoolean();
+        var reloads = new AtomicInteger();
+        var failures = new ConcurrentLinkedQueue<String>();
+        var recorders = new ArrayList<LatencyRecorder[]>();
+        var threads = new ArrayList<Thread>();
+
+        for (int i = 0; i < RENDER_THREADS; i++) {
+            var recorder = new LatencyRecorder[]{new LatencyRecorder(), new LatencyRecorder()};
+            recorders.add(recorder);
+            threads.add(new Thread(() -> render(running, reloading, recorder, failures), "render-" + i));
+        }
+
+        threads.add(new Thread(() -> reload(directory, running, reloading, reloads, failures), "reload"));
+
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+
+        Thread.sleep(DURATION_MILLIS);
+        running.set(false);
+
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        directory.unload();
+
+        var idle = new LatencyRecorder();
+        var duringReload = new LatencyRecorder();
+
+        for (var recorder : recorders) {
+            idle.merge(recorder[0]);
+            duringReload.merge(recorder[1]);
+        }
+
+        reporter.publishEntry(name, String.format("%d threads, %d reloads, %.0f renders/s", RENDER_THREADS, reloads.get(),
+                (idle.count() + duringReload.count()) / seconds));
+        reporter.publishEntry(name + " (idle)", idle.toString());
+        reporter.publishEntry(name + " (reload)", duringReload.toString());
+
+        Assertions.assertTrue(failures.isEmpty(), () -> failures.size() + " failures, first: " + failures.peek());
+        Assertions.assertTrue(0 < reloads.get());
+        // messages must be rendered both while reloading and between reloads, otherwise renderers are starved
+        Assertions.assertTrue(0 < idle.count(), "No messages were rendered between reloads");
+        Assertions.assertTrue(0 < duringReload.count(), "No messages were rendered while reloading");
+        Assertions.assertTrue(duringReload.max() < TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS),
+                () -> "A render was blocked for the whole test: " + duringReload);
+    }
+
+    private static void render(@NotNull AtomicBoolean running, @NotNull AtomicBoolean reloading,
+                               @NotNull LatencyRecorder[] recorder, @NotNull ConcurrentLinkedQueue<String> failures) {
+        var random = ThreadLocalRandom.current();
+        var argument = Component.text("arg");
+
+        while (running.get()) {
+            var locale = LOCALES.get(random.nextInt(LOCALES.size()));
+            var key = "stress." + random.nextInt(KEY_COUNT);
+            boolean duringReload = reloading.get();
+
+            long start = System.nanoTime();
+            Component result;
+
+            try {
+                result = GlobalTranslator.render(Component.translatable(key, argument), locale);
+            } catch (RuntimeException e) {
+                failures.add(locale + ":" + key + " threw " + e);
+                continue;
+            }
+
+            long elapsed = System.nanoTime() - start;
+            recorder[duringReload || reloading.get() ? 1 : 0].record(elapsed);
+
+            if (result instanceof TranslatableComponent) {
+                failures.add(locale + ":" + key + " was not translated");
+            }
+        }
+    }
+
+    private static void reload(@NotNull TranslationDirectory directory, @NotNull AtomicBoolean running, @NotNull AtomicBoolean reloading,
+                               @NotNull AtomicInteger reloads, @NotNull ConcurrentLinkedQueue<String> failures) {
+        var random = ThreadLocalRandom.current();
+        int generation = 0;
+
+        while (running.get()) {
+            reloading.set(true);
+
+            try {
+                if (generation % 2 == 0) {
+                    directory.load();
+                } else {
+                    // rewrite the shard with new messages and apply only it
+                    var locale = LOCALES.get(random.nextInt(LOCALES.size()));
+                    var shard = DIRECTORY.resolve(locale.toString()).resolve("shard.json");
+                    writeMessages(shard, locale, KEY_COUNT / 2, KEY_COUNT, generation);
+                    directory.reload(shard);
+                }
+
+                reloads.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                failures.add("reload threw " + e);
+            } finally {
+                reloading.set(false);
+            }
+
+            generation++;
+
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void writeMessages(@NotNull Path file, @NotNull Locale locale, int from, int to, int generation) throws IOException {
+        var json = new StringBuilder("{");
+
+        for (int i = from; i < to; i++) {
+            if (i != from) {
+                json.append(',');
+            }
+
+            json.append("\"stress.").append(i).append("\": \"").append(locale).append(' ').append(i)
+                    .append(" (").append(generation).append(") {0}\"");
+        }
+
+        // lazy loading reads files while rendering, so replace the file atomically
+        Files.createDirectories(file.getParent());
+        var temp = Files.writeString(file.resolveSibling(".tmp"), json.append('}'));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @AfterAll
+    static void deleteDirectory() throws IOException {
+        if (!Files.exists(DIRECTORY)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.walk(DIRECTORY)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Counts latencies in buckets of powers of two nanoseconds.
+     */
+    private static final class LatencyRecorder {
+
+        private final long[] buckets = new long[64];
+        private long count;
+        private long max;
+
+        private void record(long nanos) {
+            buckets[64 - Long.numberOfLeadingZeros(Math.max(nanos, 1))]++;
+            count++;
+            max = Math.max(max, nanos);
+        }
+
+        private void merge(@NotNull LatencyRecorder other) {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] += other.buckets[i];
+            }
+
+            count += other.count;
+            max = Math.max(max, other.max);
+        }
+
+        private long count() {
+            return count;
+        }
+
+        private long max() {
+            return max;
+        }
+
+        private long percentile(double percentile) {
+            long target = (long) Math.ceil(count * percentile);
+            long seen = 0;
+
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+
+                if (target <= seen) {
+                    return Math.min(1L << i, max); // the upper bound of the bucket
+                }
+            }
+
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            if (count == 0) {
+                return "no samples";
+            }
+
+            return String.format("%d samples, p50 <= %.1fus, p99 <= %.1fus, p99.9 <= %.1fus, max %.1fus",
+                    count, percentile(0.5) / 1e3, percentile(0.99) / 1e3, percentile(0.999) / 1e3, max / 1e3);
+        }
+    }
+}
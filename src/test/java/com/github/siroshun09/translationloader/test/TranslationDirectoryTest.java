@@ -0,0 +1,614 @@
+package com.github.siroshun09.translationloader.test;
+
+import com.github.siroshun09.translationloader.JsonFileLoader;
+import com.github.siroshun09.translationloader.TranslationLoader;
+import com.github.siroshun09.translationloader.directory.LocaleResolver;
+import com.github.siroshun09.translationloader.directory.TranslationDirectory;
+import com.github.siroshun09.translationloader.directory.TranslationLoaderCreator;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.TranslationRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class TranslationDirectoryTest {
+
+    private static final Path DIRECTORY = Path.of("translation-directory-test");
+    private static final Path MANIFEST_DIRECTORY = Path.of("translation-directory-manifest-test");
+    private static final Path VALIDATION_DIRECTORY = Path.of("translation-directory-validation-test");
+    private static final Path PACK_DIRECTORY = Path.of("translation-directory-pack-test");
+    private static final Key KEY = Key.key("translationloader", "test");
+
+    @BeforeEach
+    void prepareDirectory() throws IOException {
+        // some tests modify files, so the directory is recreated for each test to make tests independent of the order
+        delete(DIRECTORY);
+
+        Files.createDirectories(DIRECTORY.resolve("en"));
+        Files.createDirectories(DIRECTORY.resolve("ja_JP"));
+
+        Files.writeString(DIRECTORY.resolve("en.json"), "{\"a\": \"flat\"}");
+        Files.writeString(DIRECTORY.resolve("en").resolve("module1.json"), "{\"a\": \"shard\", \"b\": \"module1\"}");
+        Files.writeString(DIRECTORY.resolve("en").resolve("module2.json"), "{\"c\": \"module2\"}");
+        Files.writeString(DIRECTORY.resolve("ja_JP").resolve("module.json"), "{\"a\": \"ja\"}");
+    }
+
+    @Test
+    void testShardedDirectory() throws IOException {
+        var directory = TranslationDirectory.create(DIRECTORY, KEY);
+
+        directory.load();
+
+        var registry = directory.getRegistry();
+
+        Assertions.assertEquals(Set.of(Locale.ENGLISH, Locale.JAPAN), directory.getLoadedLocales());
+        Assertions.assertEquals("flat", registry.translate("a", Locale.ENGLISH).toPattern());
+        Assertions.assertEquals("module1", registry.translate("b", Locale.ENGLISH).toPattern());
+        Assertions.assertEquals("module2", registry.translate("c", Locale.ENGLISH).toPattern());
+        Assertions.assertEquals("ja", registry.translate("a", Locale.JAPAN).toPattern());
+
+        var resolver = directory.getLocaleResolver();
+
+        Assertions.assertSame(Locale.JAPAN, resolver.resolve("ja_jp"));
+        Assertions.assertSame(Locale.JAPAN, resolver.resolve("ja-JP"));
+        Assertions.assertSame(Locale.ENGLISH, resolver.resolve("en_gb"));
+        Assertions.assertSame(Locale.ENGLISH, resolver.resolve("fr_fr"));
+        Assertions.assertSame(Locale.ENGLISH, resolver.resolve((String) null));
+        Assertions.assertSame(Locale.JAPAN, LocaleResolver.create(Set.of(Locale.JAPAN), Locale.US).resolve(Locale.FRANCE));
+        Assertions.assertSame(Locale.US, LocaleResolver.create(Set.of(), Locale.US).resolve(Locale.FRANCE));
+
+        // the language-only locale is preferred to the regional variant of the default locale
+        var regional = LocaleResolver.create(Set.of(Locale.ENGLISH, Locale.US, Locale.CANADA), Locale.US);
+        Assertions.assertSame(Locale.ENGLISH, regional.resolve(Locale.UK));
+        Assertions.assertSame(Locale.US, regional.resolve(Locale.US));
+        Assertions.assertSame(Locale.US, regional.resolve(Locale.FRANCE));
+        Assertions.assertSame(Locale.US, regional.getFallbackLocale());
+        Assertions.assertSame(Locale.US, LocaleResolver.create(Set.of(Locale.US, Locale.CANADA), Locale.US).resolve(Locale.UK));
+
+        var shard = DIRECTORY.resolve("en").resolve("module2.json");
+        Files.writeString(shard, "{\"c\": \"updated\"}");
+
+        directory.reload(shard);
+
+        Assertions.assertEquals("updated", directory.getRegistry().translate("c", Locale.ENGLISH).toPattern());
+        Assertions.assertEquals("module1", directory.getRegistry().translate("b", Locale.ENGLISH).toPattern());
+
+        directory.unload();
+    }
+
+    @Test
+    void testRegistrySupplier() throws IOException {
+        var builder = TranslationDirectory.newBuilder()
+                .setDirectory(DIRECTORY)
+                .setRegistrySupplier(() -> TranslationRegistry.create(KEY));
+
+        // the default locale of the supplied registry is unknown
+        Assertions.assertThrows(IllegalStateException.class, builder::build);
+
+        var directory = builder.setDefaultLocale(Locale.JAPAN).build();
+        directory.load();
+
+        Assertions.assertSame(Locale.JAPAN, directory.getLocaleResolver().getFallbackLocale());
+        // the default locale is also set to the supplied registry
+        Assertions.assertEquals("ja", directory.getRegistry().translate("a", Locale.FRANCE).toPattern());
+
+        directory.unload();
+    }
+
+    @Test
+    void testLazyLoading() throws IOException {
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(DIRECTORY)
+                .setKey(KEY)
+                .setLazyLoading(true)
+                .setIdleTimeout(Duration.ZERO)
+                .build();
+
+        directory.load();
+
+        Assertions.assertTrue(directory.getLoadedLocales().isEmpty());
+        Assertions.assertSame(Locale.JAPAN, directory.getLocaleResolver().resolve("ja_jp"));
+
+        Assertions.assertEquals("ja", GlobalTranslator.get().translate("a", Locale.JAPAN).toPattern());
+        Assertions.assertEquals(Set.of(Locale.JAPAN), directory.getLoadedLocales());
+
+        directory.evictIdleLocales();
+
+        Assertions.assertTrue(directory.getLoadedLocales().isEmpty());
+        Assertions.assertEquals("ja", GlobalTranslator.get().translate("a", Locale.JAPAN).toPattern());
+
+        // the broken file is not thrown to the renderer, and the locale is loaded again after fixing it
+        var file = DIRECTORY.resolve("ja_JP").resolve("module.json");
+        Files.writeString(file, "{\"a\": ");
+        directory.load();
+
+        Assertions.assertDoesNotThrow(() -> GlobalTranslator.get().translate("a", Locale.JAPAN));
+        Assertions.assertFalse(directory.getLoadedLocales().contains(Locale.JAPAN));
+
+        Files.writeString(file, "{\"a\": \"fixed\"}");
+        directory.load();
+
+        Assertions.assertEquals("fixed", GlobalTranslator.get().translate("a", Locale.JAPAN).toPattern());
+
+        directory.unload();
+    }
+
+    @Test
+    void testLazyLoadingOfOtherLocale() throws Exception {
+        var japaneseLoading = new CountDownLatch(1);
+        var releaseJapanese = new CountDownLatch(1);
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(DIRECTORY)
+                .setKey(KEY)
+                .setLazyLoading(true)
+                .addFileFormat("json", (locale, file) -> {
+                    if (locale.equals(Locale.JAPAN)) {
+                        japaneseLoading.countDown();
+
+                        try {
+                            releaseJapanese.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+
+                    return JsonFileLoader.create(locale, file);
+                })
+                .build();
+
+        directory.load();
+
+        var executor = Executors.newFixedThreadPool(2);
+
+        try {
+            var japanese = executor.submit(() -> GlobalTranslator.get().translate("a", Locale.JAPAN));
+            Assertions.assertTrue(japaneseLoading.await(5, TimeUnit.SECONDS));
+
+            // the locale that is being loaded does not block other locales and the directory
+            var english = executor.submit(() -> GlobalTranslator.get().translate("c", Locale.ENGLISH));
+            Assertions.assertEquals("module2", english.get(5, TimeUnit.SECONDS).toPattern());
+            Assertions.assertEquals(Set.of(Locale.ENGLISH), directory.getLoadedLocales());
+
+            releaseJapanese.countDown();
+
+            Assertions.assertEquals("ja", japanese.get(5, TimeUnit.SECONDS).toPattern());
+            Assertions.assertEquals(Set.of(Locale.ENGLISH, Locale.JAPAN), directory.getLoadedLocales());
+        } finally {
+            releaseJapanese.countDown();
+            executor.shutdown();
+        }
+
+        directory.unload();
+    }
+
+    @Test
+    void testConcurrentLoad() throws Exception {
+        var loadCount = new AtomicInteger();
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(DIRECTORY)
+                .setKey(KEY)
+                .addFileFormat("json", (locale, file) -> {
+                    loadCount.incrementAndGet();
+                    return JsonFileLoader.create(locale, file);
+                })
+                .build();
+
+        directory.load();
+        var loadedLocales = directory.getLoadedLocales();
+        int loadsPerCall = loadCount.get();
+
+        var executor = Executors.newFixedThreadPool(8);
+
+        try {
+            var futures = new ArrayList<Future<?>>();
+
+            for (int i = 0; i < 32; i++) {
+                futures.add(executor.submit(() -> {
+                    directory.load();
+                    Assertions.assertEquals("flat", GlobalTranslator.get().translate("a", Locale.ENGLISH).toPattern());
+                    return null;
+                }));
+            }
+
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // overlapping calls are collapsed, so files are not loaded 32 times
+        Assertions.assertTrue(loadCount.get() < loadsPerCall * 33);
+        Assertions.assertEquals(Set.of(Locale.ENGLISH, Locale.JAPAN), directory.getLoadedLocales());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> loadedLocales.add(Locale.GERMAN));
+
+        directory.unload();
+
+        Assertions.assertTrue(directory.getLoadedLocales().isEmpty());
+        Assertions.assertEquals(Set.of(Locale.ENGLISH, Locale.JAPAN), loadedLocales);
+    }
+
+    @Test
+    void testCacheSize() throws IOException {
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(DIRECTORY)
+                .setKey(KEY)
+                .setCacheSize(1024)
+                .build();
+
+        directory.load();
+
+        Assertions.assertEquals(Set.of(Locale.ENGLISH, Locale.JAPAN), directory.getLoadedLocales());
+        Assertions.assertEquals(List.of("en.1.idx", "ja_JP.1.idx"), listCacheFiles());
+
+        Assertions.assertEquals("flat", GlobalTranslator.get().translate("a", Locale.ENGLISH).toPattern());
+        Assertions.assertEquals("module1", GlobalTranslator.get().translate("b", Locale.UK).toPattern());
+        Assertions.assertEquals("ja", GlobalTranslator.get().translate("a", Locale.JAPAN).toPattern());
+        Assertions.assertNull(GlobalTranslator.get().translate("missing", Locale.JAPAN));
+
+        var shard = DIRECTORY.resolve("en").resolve("module1.json");
+        Files.writeString(shard, "{\"a\": \"shard\", \"b\": \"module1\", \"d\": \"added\"}");
+
+        directory.reload(shard);
+
+        Assertions.assertEquals("added", GlobalTranslator.get().translate("d", Locale.ENGLISH).toPattern());
+        Assertions.assertEquals("flat", GlobalTranslator.get().translate("a", Locale.ENGLISH).toPattern());
+
+        // the index of the previous generation is not replaced while it is mapped, and is deleted after publishing the new one
+        Assertions.assertEquals(List.of("en.2.idx", "ja_JP.1.idx"), listCacheFiles());
+
+        directory.load();
+
+        Assertions.assertEquals(List.of("en.3.idx", "ja_JP.3.idx"), listCacheFiles());
+
+        directory.unload();
+    }
+
+    @Test
+    void testCacheEviction() throws IOException {
+        var keys = new ArrayList<String>();
+        var json = new StringBuilder("{");
+
+        for (int i = 0; i < 20; i++) {
+            keys.add("key." + (char) ('a' + i));
+            // MessageFormat#toPattern returns this message without quotes, so the size must not be estimated from it
+            json.append(i == 0 ? "" : ", ").append('"').append(keys.get(i)).append("\": \"'quoted message'\"");
+        }
+
+        Files.writeString(DIRECTORY.resolve("fr.json"), json.append('}'));
+
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(DIRECTORY)
+                .setKey(KEY)
+                .setCacheSize(1024)
+                .build();
+
+        directory.load();
+
+        // all entries have the same size, so the cache keeps the same number of the most recently used messages
+        int capacity = countCachedMessages(translateAll(keys), keys);
+        Assertions.assertTrue(0 < capacity && capacity < keys.size(), () -> capacity + " messages are cached");
+
+        directory.load();
+
+        var formats = translateAll(keys.subList(0, capacity));
+        Assertions.assertSame(formats.get(0), translate(keys.get(0)));
+
+        // the least recently used message is the second one, as the first one has been used again
+        translate(keys.get(capacity));
+        Assertions.assertSame(formats.get(0), translate(keys.get(0)));
+        Assertions.assertNotSame(formats.get(1), translate(keys.get(1)));
+
+        for (int i = 0; i < 100; i++) {
+            translateAll(keys);
+        }
+
+        Assertions.assertEquals(capacity, countCachedMessages(translateAll(keys), keys));
+
+        directory.unload();
+    }
+
+    private static @NotNull List<MessageFormat> translateAll(@NotNull List<String> keys) {
+        return keys.stream().map(TranslationDirectoryTest::translate).collect(Collectors.toList());
+    }
+
+    private static @NotNull MessageFormat translate(@NotNull String key) {
+        return Objects.requireNonNull(GlobalTranslator.get().translate(key, Locale.FRENCH));
+    }
+
+    private static int countCachedMessages(@NotNull List<MessageFormat> formats, @NotNull List<String> keys) {
+        // from the most recently used one, as looking up an evicted message evicts another one
+        int count = 0;
+
+        for (int i = keys.size() - 1; 0 <= i && formats.get(i) == translate(keys.get(i)); i--) {
+            count++;
+        }
+
+        return count;
+    }
+
+    @Test
+    void testFailedLoad() throws IOException {
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(DIRECTORY)
+                .setKey(KEY)
+                .setCacheSize(1024)
+                .build();
+
+        directory.load();
+
+        var translator = directory.getTranslator();
+        var file = DIRECTORY.resolve("en.json");
+        Files.writeString(file, "{\"a\": ");
+
+        // the failed load keeps the previous messages and the working data
+        Assertions.assertThrows(RuntimeException.class, directory::load);
+        Assertions.assertSame(translator, directory.getTranslator());
+        Assertions.assertEquals(Set.of(Locale.ENGLISH, Locale.JAPAN), directory.getLoadedLocales());
+        Assertions.assertEquals("flat", GlobalTranslator.get().translate("a", Locale.ENGLISH).toPattern());
+
+        var shard = DIRECTORY.resolve("ja_JP").resolve("module.json");
+        Files.writeString(shard, "{\"a\": \"reloaded\"}");
+        directory.reload(shard);
+
+        Assertions.assertEquals("reloaded", GlobalTranslator.get().translate("a", Locale.JAPAN).toPattern());
+        Assertions.assertEquals("module1", GlobalTranslator.get().translate("b", Locale.ENGLISH).toPattern());
+
+        directory.unload();
+    }
+
+    @Test
+    void testOffHeapStorage() throws IOException {
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(DIRECTORY)
+                .setKey(KEY)
+                .setOffHeapStorage(true)
+                .build();
+
+        directory.load();
+
+        Assertions.assertEquals(Set.of(Locale.ENGLISH, Locale.JAPAN), directory.getLoadedLocales());
+        Assertions.assertThrows(IllegalStateException.class, directory::getRegistry);
+        Assertions.assertEquals("flat", directory.getTranslator().translate("a", Locale.ENGLISH).toPattern());
+        Assertions.assertSame(directory.getTranslator().translate("a", Locale.ENGLISH), directory.getTranslator().translate("a", Locale.ENGLISH));
+
+        Assertions.assertEquals("flat", GlobalTranslator.get().translate("a", Locale.ENGLISH).toPattern());
+        Assertions.assertEquals("module1", GlobalTranslator.get().translate("b", Locale.UK).toPattern());
+        Assertions.assertEquals("ja", GlobalTranslator.get().translate("a", Locale.JAPAN).toPattern());
+        Assertions.assertNull(GlobalTranslator.get().translate("missing", Locale.ENGLISH));
+
+        var shard = DIRECTORY.resolve("ja_JP").resolve("module.json");
+        Files.writeString(shard, "{\"a\": \"ja\", \"b\": \"added\"}");
+
+        try {
+            directory.reload(shard);
+            Assertions.assertEquals("added", GlobalTranslator.get().translate("b", Locale.JAPAN).toPattern());
+        } finally {
+            Files.writeString(shard, "{\"a\": \"ja\"}");
+        }
+
+        directory.unload();
+    }
+
+    @Test
+    void testPackFile() throws IOException {
+        Files.createDirectories(PACK_DIRECTORY);
+        Files.writeString(PACK_DIRECTORY.resolve("en.json"), "{\"a\": \"loose\"}");
+
+        var packFile = PACK_DIRECTORY.resolve("translations.zip");
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(PACK_DIRECTORY)
+                .setKey(KEY)
+                .setPackFile(packFile)
+                .build();
+
+        directory.load();
+        Assertions.assertEquals("loose", directory.getRegistry().translate("a", Locale.ENGLISH).toPattern());
+
+        try (var out = new ZipOutputStream(Files.newOutputStream(packFile))) {
+            out.putNextEntry(new ZipEntry("en.json"));
+            out.write("{\"a\": \"packed\"}".getBytes(StandardCharsets.UTF_8));
+            out.putNextEntry(new ZipEntry("ja_JP/module.json"));
+            out.write("{\"a\": \"ja\"}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        directory.load();
+
+        Assertions.assertEquals(Set.of(Locale.ENGLISH, Locale.JAPAN), directory.getLoadedLocales());
+        Assertions.assertEquals("packed", directory.getRegistry().translate("a", Locale.ENGLISH).toPattern());
+        Assertions.assertEquals("ja", directory.getRegistry().translate("a", Locale.JAPAN).toPattern());
+        Assertions.assertThrows(IllegalStateException.class, () -> directory.reload(PACK_DIRECTORY.resolve("en.json")));
+
+        directory.unload();
+
+        // the pack is closed, so it can be deleted
+        Files.delete(packFile);
+    }
+
+    @Test
+    void testSnapshot() throws IOException {
+        var snapshot = DIRECTORY.resolve(".snapshot");
+        var traditionalChinese = Locale.forLanguageTag("zh-Hant-TW");
+        Files.writeString(DIRECTORY.resolve("zh-Hant-TW.json"), "{\"a\": \"zh\"}");
+
+        var exporter = TranslationDirectory.newBuilder().setDirectory(DIRECTORY).setKey(KEY).setVersion("1.0").build();
+
+        exporter.load();
+        exporter.exportSnapshot(snapshot);
+        exporter.unload();
+
+        var directory = TranslationDirectory.newBuilder().setDirectory(DIRECTORY).setKey(KEY).setVersion("1.0").build();
+
+        directory.loadSnapshot(snapshot);
+
+        Assertions.assertEquals(Set.of(Locale.ENGLISH, Locale.JAPAN, traditionalChinese), directory.getLoadedLocales());
+        Assertions.assertEquals("flat", GlobalTranslator.get().translate("a", Locale.ENGLISH).toPattern());
+        Assertions.assertEquals("module1", GlobalTranslator.get().translate("b", Locale.UK).toPattern());
+        Assertions.assertEquals("ja", GlobalTranslator.get().translate("a", Locale.JAPAN).toPattern());
+        Assertions.assertEquals("zh", GlobalTranslator.get().translate("a", traditionalChinese).toPattern());
+        Assertions.assertEquals("ja", directory.getTranslator().translate("a", Locale.JAPAN).toPattern());
+        Assertions.assertThrows(IllegalStateException.class, directory::getRegistry);
+
+        // messages are cached with the default cache size, and are not parsed again
+        Assertions.assertSame(directory.getTranslator().translate("a", Locale.JAPAN), directory.getTranslator().translate("a", Locale.JAPAN));
+        Assertions.assertThrows(IllegalStateException.class, () -> directory.reload(DIRECTORY.resolve("en.json")));
+
+        directory.unload();
+
+        var otherVersion = TranslationDirectory.newBuilder().setDirectory(DIRECTORY).setKey(KEY).setVersion("2.0").build();
+        Assertions.assertThrows(IOException.class, () -> otherVersion.loadSnapshot(snapshot));
+
+        var bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(snapshot, bytes);
+
+        Assertions.assertThrows(IOException.class, () -> directory.loadSnapshot(snapshot));
+        Files.delete(snapshot);
+    }
+
+    @Test
+    void testValidation() throws IOException {
+        Files.createDirectories(VALIDATION_DIRECTORY);
+        Files.writeString(VALIDATION_DIRECTORY.resolve("en.json"),
+                "{\"same\": \"{0} and {1}\", \"missing\": \"{0} and {1}\", \"type\": \"{0,number} coins\", \"untranslated\": \"a\"}");
+        Files.writeString(VALIDATION_DIRECTORY.resolve("ja.json"),
+                "{\"same\": \"{1} と {0}\", \"missing\": \"{0}\", \"type\": \"{0} コイン {2}\", \"unknown\": \"b\"}");
+
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(VALIDATION_DIRECTORY)
+                .setKey(Key.key("translationloader", "validation-test"))
+                .setDefaultLocale(Locale.ENGLISH)
+                .setValidationEnabled(true)
+                .build();
+
+        directory.load();
+
+        var result = directory.getValidationResult();
+
+        Assertions.assertFalse(result.isValid());
+        Assertions.assertTrue(result.getMismatches(Locale.ENGLISH).isEmpty());
+
+        var mismatches = result.getMismatches(Locale.JAPANESE).stream()
+                .map(mismatch -> mismatch.getKey() + ":" + mismatch.getType() + ":" + mismatch.getArgumentIndex())
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(List.of(
+                "missing:MISSING_ARGUMENT:1",
+                "type:EXTRA_ARGUMENT:2",
+                "type:ARGUMENT_TYPE_MISMATCH:0",
+                "unknown:UNKNOWN_KEY:-1",
+                "untranslated:MISSING_KEY:-1"
+        ), mismatches);
+
+        directory.unload();
+
+        // the default locale (en_US) is not loaded, so the messages are compared with en instead
+        var usDirectory = TranslationDirectory.newBuilder()
+                .setDirectory(VALIDATION_DIRECTORY)
+                .setKey(Key.key("translationloader", "validation-test"))
+                .setValidationEnabled(true)
+                .build();
+
+        usDirectory.load();
+
+        Assertions.assertEquals(Locale.ENGLISH, usDirectory.getValidationResult().getDefaultLocale());
+        Assertions.assertEquals(result.getMismatches(), usDirectory.getValidationResult().getMismatches());
+
+        usDirectory.unload();
+    }
+
+    @Test
+    void testManifest() throws IOException {
+        var directoryPath = MANIFEST_DIRECTORY.resolve("translations");
+        var defaultFile = MANIFEST_DIRECTORY.resolve("default.json");
+
+        Files.createDirectories(directoryPath);
+        Files.writeString(defaultFile, "{\"v\": \"1.0-SNAPSHOT\", \"a\": \"default\", \"b\": \"missing\"}");
+        Files.writeString(directoryPath.resolve("en.json"), "{\"a\": \"translated\"}");
+
+        var merged = new AtomicInteger();
+        var directory = TranslationDirectory.newBuilder()
+                .setDirectory(directoryPath)
+                .setKey(KEY)
+                .setVersion("1.0-SNAPSHOT")
+                .setManifestEnabled(true)
+                .setTranslationLoaderCreator(new TranslationLoaderCreator() {
+                    @Override
+                    public @NotNull TranslationLoader createLoader(@NotNull Locale locale) throws IOException {
+                        var loader = JsonFileLoader.create(locale, defaultFile);
+                        loader.load();
+                        merged.incrementAndGet();
+                        return loader;
+                    }
+
+                    @Override
+                    public @NotNull String getFingerprint(@NotNull Locale locale) {
+                        return "fingerprint";
+                    }
+                })
+                .build();
+
+        directory.load();
+
+        Assertions.assertEquals(1, merged.get());
+        Assertions.assertEquals("translated", directory.getRegistry().translate("a", Locale.ENGLISH).toPattern());
+        Assertions.assertEquals("missing", directory.getRegistry().translate("b", Locale.ENGLISH).toPattern());
+
+        directory.load();
+
+        Assertions.assertEquals(1, merged.get());
+        Assertions.assertEquals("missing", directory.getRegistry().translate("b", Locale.ENGLISH).toPattern());
+
+        directory.unload();
+    }
+
+    @AfterAll
+    static void deleteDirectory() throws IOException {
+        for (var directory : List.of(DIRECTORY, MANIFEST_DIRECTORY, VALIDATION_DIRECTORY, PACK_DIRECTORY)) {
+            delete(directory);
+        }
+    }
+
+    private static @NotNull List<String> listCacheFiles() throws IOException {
+        try (Stream<Path> files = Files.list(DIRECTORY.resolve(".cache"))) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void delete(@NotNull Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (var file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
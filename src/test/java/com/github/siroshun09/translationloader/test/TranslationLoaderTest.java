@@ -6,6 +6,7 @@ import com.github.siroshun09.configapi.api.util.ResourceUtils;
 import com.github.siroshun09.configapi.yaml.YamlConfiguration;
 import com.github.siroshun09.translationloader.ConfigurationLoader;
 import com.github.siroshun09.translationloader.FileConfigurationLoader;
+import com.github.siroshun09.translationloader.util.MessageFileWriter;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -90,6 +91,43 @@ public class TranslationLoaderTest {
         Assertions.assertFalse(other.isModified());
     }
 
+    @Test
+    void testSavingAndLoadingAgain() throws IOException {
+        var path = Path.of("round-trip-test.yml");
+        var messages = Map.of(
+                "plain", "abc",
+                "nested.key", "&aHello, {0}",
+                "quoted", "Line 1\nLine \"2\"",
+                "sample", "value",
+                "nested.deeper.key", "deeper",
+                "bool", "true",
+                "japanese", "日本語"
+        );
+
+        try {
+            var initial = new HashMap<>(messages);
+            initial.put("v", "1.0");
+            MessageFileWriter.writeYaml(initial, path);
+
+            var loader = FileConfigurationLoader.create(Locale.ENGLISH, YamlConfiguration.create(path));
+            loader.load();
+
+            Assertions.assertEquals("1.0", loader.getVersion());
+            Assertions.assertEquals(messages, loader.getMessageMap());
+
+            loader.setVersion("2.0");
+            loader.save();
+
+            var reloaded = FileConfigurationLoader.create(Locale.ENGLISH, YamlConfiguration.create(path));
+            reloaded.load();
+
+            Assertions.assertEquals("2.0", reloaded.getVersion());
+            Assertions.assertEquals(messages, reloaded.getMessageMap());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
     @AfterAll
     static void deleteFile() throws IOException {
         Files.deleteIfExists(YAML_PATH);